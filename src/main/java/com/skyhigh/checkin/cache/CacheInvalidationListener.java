@@ -0,0 +1,54 @@
+package com.skyhigh.checkin.cache;
+
+import com.skyhigh.checkin.event.SeatChange;
+import com.skyhigh.checkin.model.enums.SeatStatus;
+import com.skyhigh.checkin.service.SeatService;
+import com.skyhigh.checkin.service.SeatVersionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Applies invalidations and seat changes published by other nodes to this node's L1 caches,
+ * seat versions and seat state index.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidationListener implements MessageListener {
+
+    private final TwoLevelCacheManager cacheManager;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final SeatVersionService seatVersionService;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 6);
+
+        if (invalidationPublisher.isLocalNode(parts[0])) {
+            return;
+        }
+
+        try {
+            if (CacheInvalidationPublisher.SEAT_CHANGE_CHANNEL.equals(channel)) {
+                SeatChange change = new SeatChange(UUID.fromString(parts[1]), Long.parseLong(parts[2]),
+                        UUID.fromString(parts[3]), parts[5], SeatStatus.valueOf(parts[4]));
+                seatVersionService.onRemoteSeatChange(change);
+                cacheManager.evictLocalIf(SeatService.SEAT_MAP_CACHE,
+                        key -> SeatService.isSupersededSeatMapKey(key, change.flightId(), change.version()));
+            } else if (CacheInvalidationPublisher.EVICT.equals(parts[1])) {
+                cacheManager.evictLocal(parts[2], parts[3]);
+            } else if (CacheInvalidationPublisher.CLEAR.equals(parts[1])) {
+                cacheManager.clearLocal(parts[2]);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed invalidation message on {}: {}", channel, e.getMessage());
+        }
+    }
+}
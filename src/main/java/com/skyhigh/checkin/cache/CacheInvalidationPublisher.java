@@ -0,0 +1,67 @@
+package com.skyhigh.checkin.cache;
+
+import com.skyhigh.checkin.config.CacheConfig;
+import com.skyhigh.checkin.event.SeatChange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Broadcasts L1 cache invalidations and committed seat changes to the other nodes over Redis pub/sub.
+ * Messages are pipe-delimited and start with the publishing node's ID so that a node can ignore its own.
+ * Invalidations and seat changes are switched on separately, by {@code skyhigh.cache.invalidation-enabled}
+ * and {@code skyhigh.cache.seat-change-fanout-enabled}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidationPublisher {
+
+    public static final String CACHE_INVALIDATION_CHANNEL = "cache:invalidation";
+    public static final String SEAT_CHANGE_CHANNEL = "seat:changes";
+
+    static final String EVICT = "EVICT";
+    static final String CLEAR = "CLEAR";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final CacheConfig cacheConfig;
+    private final RedisGuard redisGuard;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public void publishEvict(String cacheName, Object key) {
+        send(CACHE_INVALIDATION_CHANNEL, String.join("|", nodeId, EVICT, cacheName, key.toString()));
+    }
+
+    public void publishClear(String cacheName) {
+        send(CACHE_INVALIDATION_CHANNEL, String.join("|", nodeId, CLEAR, cacheName));
+    }
+
+    public void publishSeatChange(SeatChange change) {
+        send(SEAT_CHANGE_CHANNEL, String.join("|", nodeId, change.flightId().toString(),
+                Long.toString(change.version()), change.seatId().toString(), change.status().name(), change.seatNumber()));
+    }
+
+    public boolean isLocalNode(String publisherNodeId) {
+        return nodeId.equals(publisherNodeId);
+    }
+
+    private void send(String channel, String message) {
+        boolean enabled = SEAT_CHANGE_CHANNEL.equals(channel)
+                ? cacheConfig.isSeatChangeFanoutEnabled()
+                : cacheConfig.isInvalidationEnabled();
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            redisGuard.execute(() -> stringRedisTemplate.convertAndSend(channel, message));
+        } catch (Exception e) {
+            log.error("Error publishing to {}: {}", channel, e.getMessage());
+            redisGuard.recordFallback("publish");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.skyhigh.checkin.cache;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs Redis calls behind a shared circuit breaker, so that a slow or unreachable Redis costs callers
+ * at most the Lettuce command timeout ({@code spring.data.redis.timeout}) and, once the breaker opens, nothing at all.
+ * Calls run on the caller's thread: there is no pool to exhaust, so load alone never counts as a Redis failure.
+ * Callers supply the fallback (local cache tier, last known value, database-only locking);
+ * every fallback taken is counted in {@code skyhigh.redis.fallbacks} by operation.
+ * Breaker state and call metrics are published by resilience4j under {@code resilience4j.circuitbreaker.*}.
+ */
+@Component
+@Slf4j
+public class RedisGuard {
+
+    public static final String INSTANCE = "redis";
+    public static final String FALLBACKS_METRIC = "skyhigh.redis.fallbacks";
+
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> fallbackCounters = new ConcurrentHashMap<>();
+
+    public RedisGuard(CircuitBreakerRegistry circuitBreakerRegistry, MeterRegistry meterRegistry) {
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(INSTANCE);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs a Redis call through the circuit breaker.
+     *
+     * @param redisCall The Redis call
+     * @return The call's result
+     * @throws RuntimeException if the call failed, timed out or the breaker is open
+     */
+    public <T> T execute(Supplier<T> redisCall) {
+        return circuitBreaker.executeSupplier(redisCall);
+    }
+
+    /**
+     * Runs a Redis call through the circuit breaker, returning the fallback if it fails.
+     *
+     * @param operation The operation name used in logs and the fallback metric
+     * @param redisCall The Redis call
+     * @param fallback  Supplies the result when Redis cannot be used
+     * @return The call's result, or the fallback's
+     */
+    public <T> T executeOrElse(String operation, Supplier<T> redisCall, Supplier<T> fallback) {
+        try {
+            return execute(redisCall);
+        } catch (Exception e) {
+            log.warn("Redis {} failed, using fallback: {}", operation, e.getMessage());
+            recordFallback(operation);
+            return fallback.get();
+        }
+    }
+
+    /**
+     * Runs a Redis call that returns nothing through the circuit breaker,
+     * skipping it if it fails.
+     *
+     * @param operation The operation name used in logs and the fallback metric
+     * @param redisCall The Redis call
+     */
+    public void runOrSkip(String operation, Runnable redisCall) {
+        executeOrElse(operation, () -> {
+            redisCall.run();
+            return null;
+        }, () -> null);
+    }
+
+    /**
+     * Counts a fallback taken by a caller that handles Redis failures itself.
+     *
+     * @param operation The operation name
+     */
+    public void recordFallback(String operation) {
+        fallbackCounters.computeIfAbsent(operation,
+                name -> meterRegistry.counter(FALLBACKS_METRIC, "operation", name)).increment();
+    }
+
+    public CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+}
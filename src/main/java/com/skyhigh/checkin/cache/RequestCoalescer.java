@@ -0,0 +1,68 @@
+package com.skyhigh.checkin.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the loader and every caller
+ * that arrives while it is running waits for and shares its result, or its exception.
+ * Loads are counted per cache under {@value #LOADS_METRIC}, tagged {@code executed} or {@code coalesced}.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestCoalescer {
+
+    public static final String LOADS_METRIC = "skyhigh.cache.loads";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Runs {@code loader} unless a load of the same key is already in flight on this node.
+     *
+     * @param cacheName The cache the value belongs to, used for metrics and to namespace keys
+     * @param key       The key being loaded
+     * @param loader    Loads the value
+     * @return The loaded value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(String cacheName, Object key, Supplier<T> loader) {
+        String inFlightKey = cacheName + "|" + key;
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(inFlightKey, future);
+
+        if (existing != null) {
+            counter(cacheName, "coalesced").increment();
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        counter(cacheName, "executed").increment();
+        try {
+            T value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(inFlightKey, future);
+        }
+    }
+
+    private Counter counter(String cacheName, String result) {
+        return meterRegistry.counter(LOADS_METRIC, "cache", cacheName, "result", result);
+    }
+}
@@ -0,0 +1,130 @@
+package com.skyhigh.checkin.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.function.Predicate;
+
+/**
+ * Cache with a bounded in-process L1 in front of a shared L2 (Redis).
+ * Reads are served from L1 when possible and fill it from L2 on a miss; writes go to both tiers.
+ * Evictions are broadcast so that other nodes drop their L1 copy as well.
+ * L2 calls go through the {@link RedisGuard}; while Redis is slow or down the cache keeps working
+ * on L1 alone, treating L2 as a miss and skipping L2 writes.
+ */
+public class TwoLevelCache implements org.springframework.cache.Cache {
+
+    private static final String OPERATION = "cache";
+
+    private final String name;
+    private final Cache<Object, ValueWrapper> local;
+    private final org.springframework.cache.Cache shared;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final RedisGuard redisGuard;
+
+    public TwoLevelCache(String name,
+                         Cache<Object, ValueWrapper> local,
+                         org.springframework.cache.Cache shared,
+                         CacheInvalidationPublisher invalidationPublisher,
+                         RedisGuard redisGuard) {
+        this.name = name;
+        this.local = local;
+        this.shared = shared;
+        this.invalidationPublisher = invalidationPublisher;
+        this.redisGuard = redisGuard;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return shared.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = local.getIfPresent(key);
+        if (wrapper != null) {
+            return wrapper;
+        }
+
+        wrapper = redisGuard.executeOrElse(OPERATION, () -> shared.get(key), () -> null);
+        if (wrapper != null) {
+            wrapper = new SimpleValueWrapper(wrapper.get());
+            local.put(key, wrapper);
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = local.getIfPresent(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        wrapper = redisGuard.executeOrElse(OPERATION, () -> shared.get(key), () -> null);
+        if (wrapper != null) {
+            local.put(key, new SimpleValueWrapper(wrapper.get()));
+            return (T) wrapper.get();
+        }
+
+        // Loaded on the calling thread so that the loader keeps its transaction and security context
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        redisGuard.runOrSkip(OPERATION, () -> shared.put(key, value));
+        local.put(key, new SimpleValueWrapper(value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        redisGuard.runOrSkip(OPERATION, () -> shared.evict(key));
+        local.invalidate(key);
+        invalidationPublisher.publishEvict(name, key);
+    }
+
+    @Override
+    public void clear() {
+        redisGuard.runOrSkip(OPERATION, shared::clear);
+        local.invalidateAll();
+        invalidationPublisher.publishClear(name);
+    }
+
+    public void evictLocal(Object key) {
+        local.invalidate(key);
+    }
+
+    public void evictLocalIf(Predicate<Object> keyPredicate) {
+        local.asMap().keySet().removeIf(keyPredicate);
+    }
+
+    public void clearLocal() {
+        local.invalidateAll();
+    }
+}
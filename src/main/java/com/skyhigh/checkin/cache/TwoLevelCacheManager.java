@@ -0,0 +1,84 @@
+package com.skyhigh.checkin.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.skyhigh.checkin.config.CacheConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Layers a bounded, TTL-evicted Caffeine cache over every cache of the shared (Redis) cache manager.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager sharedCacheManager;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final CacheConfig cacheConfig;
+    private final RedisGuard redisGuard;
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager sharedCacheManager,
+                                CacheInvalidationPublisher invalidationPublisher,
+                                CacheConfig cacheConfig,
+                                RedisGuard redisGuard) {
+        this.sharedCacheManager = sharedCacheManager;
+        this.invalidationPublisher = invalidationPublisher;
+        this.cacheConfig = cacheConfig;
+        this.redisGuard = redisGuard;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return sharedCacheManager.getCacheNames();
+    }
+
+    /**
+     * Drops a key from this node's L1 only - used when another node announced the change.
+     */
+    public void evictLocal(String cacheName, Object key) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.evictLocal(key);
+        }
+    }
+
+    public void evictLocalIf(String cacheName, Predicate<Object> keyPredicate) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.evictLocalIf(keyPredicate);
+        }
+    }
+
+    public void clearLocal(String cacheName) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.clearLocal();
+        }
+    }
+
+    private TwoLevelCache createCache(String name) {
+        Cache shared = sharedCacheManager.getCache(name);
+        if (shared == null) {
+            return null;
+        }
+
+        return new TwoLevelCache(name,
+                Caffeine.newBuilder()
+                        .maximumSize(cacheConfig.getLocalMaximumSize())
+                        .expireAfterWrite(Duration.ofSeconds(cacheConfig.getLocalTtlSeconds()))
+                        .build(),
+                shared,
+                invalidationPublisher,
+                redisGuard);
+    }
+}
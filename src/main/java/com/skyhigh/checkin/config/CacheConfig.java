@@ -0,0 +1,20 @@
+package com.skyhigh.checkin.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "skyhigh.cache")
+@Getter
+@Setter
+public class CacheConfig {
+
+    private long localMaximumSize = 10000;
+    private int localTtlSeconds = 30;
+    private int seatVersionRefreshMillis = 1000;
+    private boolean invalidationEnabled = true;
+    private boolean seatChangeFanoutEnabled = true;
+    private double earlyRefreshBeta = 1.0;
+}
@@ -1,5 +1,7 @@
 package com.skyhigh.checkin.config;
 
+import com.skyhigh.checkin.model.enums.SeatClass;
+import com.skyhigh.checkin.model.enums.SeatPosition;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -19,5 +21,25 @@ public class CheckInConfig {
     private BigDecimal excessBaggageFeePerKg = BigDecimal.valueOf(200);
     private int checkinWindowOpensHours = 24;
     private int checkinWindowClosesHours = 1;
+    private int seatIndexMaxAgeSeconds = 60;
+    private int seatIndexJournalSize = 256;
+    private int seatStreamTimeoutSeconds = 600;
+    private int seatStreamBufferSize = 64;
+    private int seatMapWarmupLeadMinutes = 10;
+    private String seatLockBackend = "redis";
+    private int seatHoldWheelTickMillis = 250;
+    private int seatHoldWheelSize = 512;
+    private int seatHoldExpiryBatchSize = 500;
+    private String schedulerCoordination = "redis";
+    private int sessionExpiryBatchSize = 500;
+    private boolean expirySweepsEnabled = true;
+    private boolean seatLockExpiryEventsEnabled = false;
+    private int seatBlockCandidates = 5;
+    private SeatClass autoSeatClass = SeatClass.ECONOMY;
+    private SeatPosition autoSeatPosition = SeatPosition.WINDOW;
+    private boolean autoSeatKeepMiddleFree = true;
+    private boolean autoSeatFrontFirst = true;
+    private int autoSeatCandidates = 50;
+    private int seatWaitlistMaxLength = 20;
 }
 
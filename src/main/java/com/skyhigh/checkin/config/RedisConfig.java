@@ -3,8 +3,14 @@ package com.skyhigh.checkin.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.skyhigh.checkin.cache.CacheInvalidationListener;
+import com.skyhigh.checkin.cache.CacheInvalidationPublisher;
+import com.skyhigh.checkin.cache.RedisGuard;
+import com.skyhigh.checkin.cache.TwoLevelCacheManager;
+import com.skyhigh.checkin.lock.SeatLockExpiryListener;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.CacheManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
@@ -12,11 +18,17 @@ import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 public class RedisConfig {
@@ -45,17 +57,59 @@ public class RedisConfig {
     }
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             CacheInvalidationPublisher invalidationPublisher,
+                                             CacheConfig cacheConfig,
+                                             RedisGuard redisGuard) {
         GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(objectMapper());
 
-        RedisCacheConfiguration cacheConfig = RedisCacheConfiguration.defaultCacheConfig()
+        RedisCacheConfiguration redisCacheConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(30))
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(jsonSerializer));
 
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(cacheConfig)
+        // Seat map entries are keyed by flight seat version, so the TTL only reclaims superseded versions
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(redisCacheConfig)
+                .withCacheConfiguration("seatMap", redisCacheConfig.entryTtl(Duration.ofMinutes(5)))
                 .build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new TwoLevelCacheManager(redisCacheManager, invalidationPublisher, cacheConfig, redisGuard);
+    }
+
+    /**
+     * Subscribes to L1 cache invalidations and to seat changes of other nodes, each only while it is enabled.
+     * Seat changes feed this node's seat versions, seat state index and seat streams, so they do not depend
+     * on L1 invalidation being enabled.
+     */
+    @Bean
+    @ConditionalOnExpression("${skyhigh.cache.invalidation-enabled:true} or ${skyhigh.cache.seat-change-fanout-enabled:true}")
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       CacheInvalidationListener invalidationListener,
+                                                                       CacheConfig cacheConfig) {
+        List<Topic> topics = new ArrayList<>();
+        if (cacheConfig.isInvalidationEnabled()) {
+            topics.add(new ChannelTopic(CacheInvalidationPublisher.CACHE_INVALIDATION_CHANNEL));
+        }
+        if (cacheConfig.isSeatChangeFanoutEnabled()) {
+            topics.add(new ChannelTopic(CacheInvalidationPublisher.SEAT_CHANGE_CHANNEL));
+        }
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(invalidationListener, topics);
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "skyhigh.checkin", name = "seat-lock-expiry-events-enabled", havingValue = "true")
+    public RedisMessageListenerContainer seatLockExpiryListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                         SeatLockExpiryListener seatLockExpiryListener) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(seatLockExpiryListener, new PatternTopic(SeatLockExpiryListener.EXPIRED_KEY_EVENTS));
+        return container;
     }
 
     private ObjectMapper objectMapper() {
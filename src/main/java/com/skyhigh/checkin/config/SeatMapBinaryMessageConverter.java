@@ -0,0 +1,119 @@
+package com.skyhigh.checkin.config;
+
+import com.skyhigh.checkin.dto.response.SeatMapResponse;
+import com.skyhigh.checkin.model.enums.SeatClass;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes seat maps in the compact {@value #SEAT_MAP_BINARY_VALUE} representation.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * byte     format version (1)
+ * 16 bytes flight ID
+ * long     seat version
+ * long     since version, -1 for a full seat map
+ * int      total, available, held, confirmed seat counts
+ * byte     number of class sections, then per section:
+ *   byte   seat class ordinal (FIRST, BUSINESS, ECONOMY)
+ *   short  number of seats
+ *   per seat: byte length + ASCII seat number
+ * packed statuses for all seats in section order, 2 bits per seat (AVAILABLE=0, HELD=1, CONFIRMED=2),
+ * four seats per byte starting at the low-order bits
+ * </pre>
+ * Seat IDs are not part of the payload; clients resolve seat numbers through the seat index endpoint.
+ */
+public class SeatMapBinaryMessageConverter extends AbstractHttpMessageConverter<SeatMapResponse> {
+
+    public static final String SEAT_MAP_BINARY_VALUE = "application/vnd.skyhigh.seat-map+binary";
+    public static final MediaType SEAT_MAP_BINARY = MediaType.parseMediaType(SEAT_MAP_BINARY_VALUE);
+
+    static final int FORMAT_VERSION = 1;
+    static final int STATUS_BITS = 2;
+
+    public SeatMapBinaryMessageConverter() {
+        super(SEAT_MAP_BINARY);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return SeatMapResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected SeatMapResponse readInternal(Class<? extends SeatMapResponse> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Seat maps cannot be read from " + SEAT_MAP_BINARY_VALUE, inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(SeatMapResponse seatMap, HttpOutputMessage outputMessage) throws IOException {
+        byte[] body = encode(seatMap);
+        outputMessage.getHeaders().setContentLength(body.length);
+        outputMessage.getBody().write(body);
+    }
+
+    static byte[] encode(SeatMapResponse seatMap) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeByte(FORMAT_VERSION);
+        UUID flightId = seatMap.getFlightId();
+        out.writeLong(flightId.getMostSignificantBits());
+        out.writeLong(flightId.getLeastSignificantBits());
+        out.writeLong(seatMap.getVersion());
+        out.writeLong(seatMap.getSinceVersion() != null ? seatMap.getSinceVersion() : -1L);
+
+        SeatMapResponse.SeatSummary summary = seatMap.getSummary();
+        out.writeInt((int) summary.getTotal());
+        out.writeInt((int) summary.getAvailable());
+        out.writeInt((int) summary.getHeld());
+        out.writeInt((int) summary.getConfirmed());
+
+        // Layout descriptor
+        Map<SeatClass, List<SeatMapResponse.SeatInfo>> seatsByClass = seatMap.getSeatsByClass();
+        int seatCount = 0;
+        out.writeByte(seatsByClass.size());
+        for (Map.Entry<SeatClass, List<SeatMapResponse.SeatInfo>> section : seatsByClass.entrySet()) {
+            out.writeByte(section.getKey().ordinal());
+            out.writeShort(section.getValue().size());
+            for (SeatMapResponse.SeatInfo seat : section.getValue()) {
+                byte[] seatNumber = seat.getSeatNumber().getBytes(StandardCharsets.US_ASCII);
+                out.writeByte(seatNumber.length);
+                out.write(seatNumber);
+            }
+            seatCount += section.getValue().size();
+        }
+
+        // Status vector
+        int seatsPerByte = Byte.SIZE / STATUS_BITS;
+        byte[] statuses = new byte[(seatCount + seatsPerByte - 1) / seatsPerByte];
+        int i = 0;
+        for (List<SeatMapResponse.SeatInfo> section : seatsByClass.values()) {
+            for (SeatMapResponse.SeatInfo seat : section) {
+                statuses[i / seatsPerByte] |= (byte) (seat.getStatus().ordinal() << ((i % seatsPerByte) * STATUS_BITS));
+                i++;
+            }
+        }
+        out.write(statuses);
+
+        out.flush();
+        return bytes.toByteArray();
+    }
+}
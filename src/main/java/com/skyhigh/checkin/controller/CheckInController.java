@@ -1,9 +1,12 @@
 package com.skyhigh.checkin.controller;
 
+import com.skyhigh.checkin.dto.request.AutoAssignSeatsRequest;
 import com.skyhigh.checkin.dto.request.BaggageRequest;
+import com.skyhigh.checkin.dto.request.ConfirmCheckInRequest;
 import com.skyhigh.checkin.dto.request.PaymentRequest;
 import com.skyhigh.checkin.dto.request.StartCheckInRequest;
 import com.skyhigh.checkin.dto.response.CheckInResponse;
+import com.skyhigh.checkin.dto.response.SeatGroupHoldResponse;
 import com.skyhigh.checkin.security.PassengerPrincipal;
 import com.skyhigh.checkin.service.CheckInService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -80,15 +83,29 @@ public class CheckInController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/group/auto-assign")
+    @Operation(summary = "Auto-assign adjacent seats",
+               description = "Hold the best block of adjacent available seats in a cabin class for a group, " +
+                       "one seat per check-in in the order given, nearest to the front first.")
+    public ResponseEntity<SeatGroupHoldResponse> autoAssignSeats(
+            @Valid @RequestBody AutoAssignSeatsRequest request,
+            @AuthenticationPrincipal PassengerPrincipal principal) {
+        log.info("Auto-assigning {} seats for group of passenger {}", request.getCheckInIds().size(), principal.getPassengerId());
+        SeatGroupHoldResponse response = checkInService.autoAssignSeats(request, principal);
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/{checkInId}/confirm")
     @PreAuthorize("@flightAccessChecker.isCheckInOwner(#checkInId)")
     @Operation(summary = "Confirm check-in",
-               description = "Complete the check-in process and generate boarding pass")
+               description = "Complete the check-in process and generate boarding pass. " +
+                       "Without a selected seat, the best available seat for the optional preferences is assigned.")
     public ResponseEntity<CheckInResponse> confirmCheckIn(
             @PathVariable UUID checkInId,
+            @RequestBody(required = false) ConfirmCheckInRequest request,
             @AuthenticationPrincipal PassengerPrincipal principal) {
         log.info("Confirming check-in: {} by passenger {}", checkInId, principal.getPassengerId());
-        CheckInResponse response = checkInService.confirmCheckIn(checkInId, principal);
+        CheckInResponse response = checkInService.confirmCheckIn(checkInId, request, principal);
         return ResponseEntity.ok(response);
     }
 
@@ -1,21 +1,34 @@
 package com.skyhigh.checkin.controller;
 
+import com.skyhigh.checkin.config.SeatMapBinaryMessageConverter;
 import com.skyhigh.checkin.dto.response.FlightResponse;
 import com.skyhigh.checkin.dto.response.SeatMapResponse;
+import com.skyhigh.checkin.model.enums.SeatClass;
 import com.skyhigh.checkin.security.PassengerPrincipal;
 import com.skyhigh.checkin.service.FlightService;
+import com.skyhigh.checkin.service.SeatBlock;
 import com.skyhigh.checkin.service.SeatService;
+import com.skyhigh.checkin.service.SeatStatusStreamService;
+import com.skyhigh.checkin.service.SeatVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/v1/flights")
@@ -25,31 +38,107 @@ import java.util.UUID;
 @SecurityRequirement(name = "bearerAuth")
 public class FlightController {
 
+    private static final int MAX_SEAT_BLOCKS = 20;
+
     private final FlightService flightService;
     private final SeatService seatService;
+    private final SeatVersionService seatVersionService;
+    private final SeatStatusStreamService seatStatusStreamService;
 
     @GetMapping("/{flightId}")
     @PreAuthorize("@flightAccessChecker.hasFlightAccess(#flightId)")
     @Operation(summary = "Get flight details",
-               description = "Get detailed information about a specific flight")
+               description = "Get detailed information about a specific flight. " +
+                       "Supports If-None-Match; an unchanged flight returns 304.")
     public ResponseEntity<FlightResponse> getFlightById(
             @PathVariable UUID flightId,
-            @AuthenticationPrincipal PassengerPrincipal principal) {
+            @AuthenticationPrincipal PassengerPrincipal principal,
+            WebRequest webRequest) {
         log.info("Getting flight details: {} by passenger: {}", flightId, principal.getPassengerId());
+        String eTag = flightService.getFlightETag(flightId);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
         FlightResponse response = flightService.getFlightById(flightId);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(eTag).body(response);
     }
 
     @GetMapping("/{flightId}/seats")
     @PreAuthorize("@flightAccessChecker.hasFlightAccess(#flightId)")
     @Operation(summary = "Get seat map",
-               description = "Get the seat map for a specific flight showing availability")
+               description = "Get the seat map for a specific flight showing availability. " +
+                       "With sinceVersion, only seats changed after that version are returned, " +
+                       "or the full map if the changes are no longer available. " +
+                       "Full maps support If-None-Match; an unchanged seat map returns 304. " +
+                       "Accept " + SeatMapBinaryMessageConverter.SEAT_MAP_BINARY_VALUE +
+                       " returns the compact binary encoding instead of JSON.")
     public ResponseEntity<SeatMapResponse> getSeatMap(
+            @PathVariable UUID flightId,
+            @RequestParam(required = false) Long sinceVersion,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @AuthenticationPrincipal PassengerPrincipal principal,
+            WebRequest webRequest) {
+        log.info("Getting seat map for flight: {} by passenger: {} (since version: {})",
+                flightId, principal.getPassengerId(), sinceVersion);
+        if (sinceVersion != null) {
+            return ResponseEntity.ok()
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(seatService.getSeatMapChanges(flightId, sinceVersion));
+        }
+
+        boolean compact = accept != null && accept.contains(SeatMapBinaryMessageConverter.SEAT_MAP_BINARY_VALUE);
+        long version = seatVersionService.currentVersion(flightId);
+        // checkNotModified also sets the ETag header on a full response, so the body is built at the same version
+        if (webRequest.checkNotModified(SeatService.seatMapETag(flightId, version, compact))) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(seatService.getSeatMap(flightId, version));
+    }
+
+    @GetMapping("/{flightId}/seats/index")
+    @PreAuthorize("@flightAccessChecker.hasFlightAccess(#flightId)")
+    @Operation(summary = "Get seat index",
+               description = "Seat IDs keyed by seat number, used to resolve seats of the compact seat map. " +
+                       "The index never changes for a flight.")
+    public ResponseEntity<Map<String, UUID>> getSeatIdIndex(
+            @PathVariable UUID flightId,
+            @AuthenticationPrincipal PassengerPrincipal principal) {
+        log.info("Getting seat index for flight: {} by passenger: {}", flightId, principal.getPassengerId());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.DAYS).cachePrivate())
+                .body(seatService.getSeatIdIndex(flightId));
+    }
+
+    @GetMapping("/{flightId}/seats/blocks")
+    @PreAuthorize("@flightAccessChecker.hasFlightAccess(#flightId)")
+    @Operation(summary = "Find adjacent seats",
+               description = "Blocks of adjacent available seats in a cabin class, best first: " +
+                       "blocks on one side of the aisle before blocks split by it, then nearest to the front.")
+    public ResponseEntity<List<SeatBlock>> findSeatBlocks(
+            @PathVariable UUID flightId,
+            @RequestParam SeatClass seatClass,
+            @RequestParam int size,
+            @RequestParam(defaultValue = "5") int limit,
+            @AuthenticationPrincipal PassengerPrincipal principal) {
+        log.info("Finding {} adjacent {} seats on flight: {} for passenger: {}",
+                size, seatClass, flightId, principal.getPassengerId());
+        return ResponseEntity.ok(seatService.findSeatBlocks(flightId, seatClass, size, Math.min(limit, MAX_SEAT_BLOCKS)));
+    }
+
+    @GetMapping(value = "/{flightId}/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("@flightAccessChecker.hasFlightAccess(#flightId)")
+    @Operation(summary = "Stream seat status changes",
+               description = "Server-Sent Events stream of seat status transitions for a flight. " +
+                       "A resync event means changes were skipped; fetch the seat map with sinceVersion.")
+    public SseEmitter streamSeatChanges(
             @PathVariable UUID flightId,
             @AuthenticationPrincipal PassengerPrincipal principal) {
-        log.info("Getting seat map for flight: {} by passenger: {}", flightId, principal.getPassengerId());
-        SeatMapResponse response = seatService.getSeatMap(flightId);
-        return ResponseEntity.ok(response);
+        log.info("Opening seat stream for flight: {} by passenger: {}", flightId, principal.getPassengerId());
+        return seatStatusStreamService.subscribe(flightId, seatVersionService.currentVersion(flightId));
     }
 }
 
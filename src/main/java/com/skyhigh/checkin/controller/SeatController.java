@@ -1,19 +1,27 @@
 package com.skyhigh.checkin.controller;
 
+import com.skyhigh.checkin.dto.request.HoldSeatGroupRequest;
 import com.skyhigh.checkin.dto.request.HoldSeatRequest;
+import com.skyhigh.checkin.dto.response.SeatGroupHoldResponse;
 import com.skyhigh.checkin.dto.response.SeatHoldResponse;
+import com.skyhigh.checkin.dto.response.SeatWaitlistResponse;
+import com.skyhigh.checkin.exception.InvalidSeatStateException;
 import com.skyhigh.checkin.security.PassengerPrincipal;
 import com.skyhigh.checkin.service.SeatService;
+import com.skyhigh.checkin.service.SeatWaitlistService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -25,6 +33,7 @@ import java.util.UUID;
 public class SeatController {
 
     private final SeatService seatService;
+    private final SeatWaitlistService seatWaitlistService;
 
     @PostMapping("/{seatId}/hold")
     @Operation(summary = "Hold a seat",
@@ -39,25 +48,82 @@ public class SeatController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/{seatId}/waitlist")
+    @Operation(summary = "Join a seat's waitlist",
+               description = "Queue for a seat held by another passenger. When the hold is released or expires, " +
+                       "the seat is held for the first waiting passenger automatically. Poll the returned entry for the outcome.")
+    public ResponseEntity<SeatWaitlistResponse> joinWaitlist(
+            @PathVariable UUID seatId,
+            @Valid @RequestBody HoldSeatRequest request,
+            @AuthenticationPrincipal PassengerPrincipal principal) {
+        log.info("Passenger {} joining waitlist for seat {} (check-in: {})",
+                principal.getPassengerId(), seatId, request.getCheckInId());
+        SeatWaitlistResponse response = seatWaitlistService.join(seatId, request.getCheckInId(), principal.getPassengerId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping("/waitlist/{entryId}")
+    @Operation(summary = "Get a waitlist entry",
+               description = "Position in the queue while waiting, or the hold expiry once the seat was handed over")
+    public ResponseEntity<SeatWaitlistResponse> getWaitlistEntry(
+            @PathVariable UUID entryId,
+            @AuthenticationPrincipal PassengerPrincipal principal) {
+        return ResponseEntity.ok(seatWaitlistService.getEntry(entryId, principal.getPassengerId()));
+    }
+
+    @DeleteMapping("/waitlist/{entryId}")
+    @Operation(summary = "Leave a waitlist")
+    public ResponseEntity<Void> leaveWaitlist(
+            @PathVariable UUID entryId,
+            @AuthenticationPrincipal PassengerPrincipal principal) {
+        log.info("Passenger {} leaving waitlist entry {}", principal.getPassengerId(), entryId);
+        seatWaitlistService.leave(entryId, principal.getPassengerId());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/group-hold")
+    @Operation(summary = "Hold seats for a group",
+               description = "Reserve one seat per check-in of a group for 120 seconds, all or nothing. " +
+                       "If any seat is taken, no seat is held and nearby available seats are suggested.")
+    public ResponseEntity<SeatGroupHoldResponse> holdSeatGroup(
+            @Valid @RequestBody HoldSeatGroupRequest request,
+            @AuthenticationPrincipal PassengerPrincipal principal) {
+        log.info("Holding {} seats for group of passenger {}", request.getSeats().size(), principal.getPassengerId());
+
+        Map<UUID, UUID> seatIdsByCheckInId = new LinkedHashMap<>();
+        for (HoldSeatGroupRequest.GroupSeat seat : request.getSeats()) {
+            if (seatIdsByCheckInId.put(seat.getCheckInId(), seat.getSeatId()) != null) {
+                throw new InvalidSeatStateException("Each check-in can only hold one seat");
+            }
+        }
+
+        SeatGroupHoldResponse response = seatService.holdSeatGroup(seatIdsByCheckInId, principal.getPassengerId());
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{seatId}/hold")
     @Operation(summary = "Release seat hold",
-               description = "Release a previously held seat")
+               description = "Release a previously held seat. With the hold's fencing token, the release is " +
+                       "rejected if the hold has been taken over since.")
     public ResponseEntity<Void> releaseSeatHold(
             @PathVariable UUID seatId,
+            @RequestParam(required = false) Long fencingToken,
             @AuthenticationPrincipal PassengerPrincipal principal) {
         log.info("Releasing seat hold {} for passenger {}", seatId, principal.getPassengerId());
-        seatService.releaseSeatHold(seatId, principal.getPassengerId());
+        seatService.releaseSeatHold(seatId, principal.getPassengerId(), fencingToken);
         return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/{seatId}/confirm")
     @Operation(summary = "Confirm seat assignment",
-               description = "Permanently confirm a held seat. This action cannot be undone.")
+               description = "Permanently confirm a held seat. This action cannot be undone. With the hold's " +
+                       "fencing token, the confirmation is rejected if the hold has been taken over since.")
     public ResponseEntity<SeatHoldResponse> confirmSeat(
             @PathVariable UUID seatId,
+            @RequestParam(required = false) Long fencingToken,
             @AuthenticationPrincipal PassengerPrincipal principal) {
         log.info("Confirming seat {} for passenger {}", seatId, principal.getPassengerId());
-        var seat = seatService.confirmSeat(seatId, principal.getPassengerId());
+        var seat = seatService.confirmSeat(seatId, principal.getPassengerId(), fencingToken);
 
         SeatHoldResponse response = SeatHoldResponse.builder()
                 .seatId(seat.getId())
@@ -0,0 +1,27 @@
+package com.skyhigh.checkin.dto.request;
+
+import com.skyhigh.checkin.model.enums.SeatClass;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutoAssignSeatsRequest {
+
+    @NotEmpty(message = "At least one check-in is required")
+    @Size(max = 9, message = "A group can hold at most 9 seats")
+    private List<@NotNull UUID> checkInIds;
+
+    @NotNull(message = "Seat class is required")
+    private SeatClass seatClass;
+}
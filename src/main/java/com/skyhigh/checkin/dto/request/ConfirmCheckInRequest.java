@@ -0,0 +1,25 @@
+package com.skyhigh.checkin.dto.request;
+
+import com.skyhigh.checkin.model.enums.SeatClass;
+import com.skyhigh.checkin.model.enums.SeatPosition;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Optional seat preferences for a check-in confirmed without a selected seat, or the fencing token of
+ * the selected seat's hold. Omitted preferences fall back to the configured defaults.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfirmCheckInRequest {
+
+    private SeatClass seatClass;
+
+    private SeatPosition seatPosition;
+
+    private Long fencingToken;
+}
@@ -0,0 +1,37 @@
+package com.skyhigh.checkin.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldSeatGroupRequest {
+
+    @NotEmpty(message = "At least one seat is required")
+    @Size(max = 9, message = "A group can hold at most 9 seats")
+    private List<@Valid @NotNull GroupSeat> seats;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class GroupSeat {
+
+        @NotNull(message = "Check-in ID is required")
+        private UUID checkInId;
+
+        @NotNull(message = "Seat ID is required")
+        private UUID seatId;
+    }
+}
@@ -0,0 +1,20 @@
+package com.skyhigh.checkin.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatGroupHoldResponse {
+
+    private List<SeatHoldResponse> seats;
+    private LocalDateTime heldUntil;
+    private int holdDurationSeconds;
+}
@@ -22,5 +22,8 @@ public class SeatHoldResponse {
     private SeatStatus status;
     private LocalDateTime heldUntil;
     private int holdDurationSeconds;
+
+    // Present with the confirm or release of this hold to have it rejected once the hold was taken over
+    private Long fencingToken;
 }
 
@@ -20,6 +20,8 @@ public class SeatMapResponse {
 
     private UUID flightId;
     private String flightNumber;
+    private long version;
+    private Long sinceVersion;
     private Map<SeatClass, List<SeatInfo>> seatsByClass;
     private SeatSummary summary;
     private LocalDateTime retrievedAt;
@@ -0,0 +1,25 @@
+package com.skyhigh.checkin.dto.response;
+
+import com.skyhigh.checkin.model.enums.WaitlistStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatWaitlistResponse {
+
+    private UUID entryId;
+    private UUID seatId;
+    private String seatNumber;
+    private WaitlistStatus status;
+    private Long position;
+    private LocalDateTime heldUntil;
+    private LocalDateTime joinedAt;
+}
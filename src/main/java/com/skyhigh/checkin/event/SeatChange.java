@@ -0,0 +1,17 @@
+package com.skyhigh.checkin.event;
+
+import com.skyhigh.checkin.model.enums.SeatStatus;
+
+import java.util.UUID;
+
+/**
+ * A committed seat status change together with the flight seat version it produced.
+ * This is what is shared between nodes and pushed to seat map subscribers.
+ */
+public record SeatChange(
+        UUID flightId,
+        long version,
+        UUID seatId,
+        String seatNumber,
+        SeatStatus status
+) {}
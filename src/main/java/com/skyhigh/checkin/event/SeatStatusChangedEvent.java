@@ -0,0 +1,18 @@
+package com.skyhigh.checkin.event;
+
+import com.skyhigh.checkin.model.enums.SeatStatus;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a seat moves between AVAILABLE, HELD and CONFIRMED.
+ * Listeners that keep derived read models (seat state index, caches) react after the
+ * surrounding transaction commits.
+ */
+public record SeatStatusChangedEvent(
+        UUID flightId,
+        UUID seatId,
+        String seatNumber,
+        SeatStatus previousStatus,
+        SeatStatus newStatus
+) {}
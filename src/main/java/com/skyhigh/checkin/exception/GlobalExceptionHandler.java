@@ -56,6 +56,11 @@ public class GlobalExceptionHandler {
         log.warn("Seat already held: {} until {}", ex.getSeatNumber(), ex.getHeldUntil());
 
         List<ErrorResponse.Suggestion> suggestions = List.of(
+                ErrorResponse.Suggestion.builder()
+                        .action("JOIN_WAITLIST")
+                        .endpoint("POST /api/v1/seats/" + ex.getSeatId() + "/waitlist")
+                        .message("Join the waitlist to be given the seat when it is released")
+                        .build(),
                 ErrorResponse.Suggestion.builder()
                         .action("VIEW_AVAILABLE_SEATS")
                         .endpoint("GET /api/v1/flights/" + ex.getFlightId() + "/seats?status=AVAILABLE")
@@ -82,6 +87,26 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.CONFLICT, ex, request, suggestions);
     }
 
+    @ExceptionHandler(SeatGroupUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleSeatGroupUnavailable(
+            SeatGroupUnavailableException ex, HttpServletRequest request) {
+        log.warn("Seat group unavailable: {}", ex.getUnavailableSeatNumbers());
+
+        List<ErrorResponse.Suggestion> suggestions = ex.getAlternativeSeatNumbers().isEmpty()
+                ? List.of(ErrorResponse.Suggestion.builder()
+                        .action("VIEW_AVAILABLE_SEATS")
+                        .endpoint("GET /api/v1/flights/" + ex.getFlightId() + "/seats?status=AVAILABLE")
+                        .message("View other available seats on this flight")
+                        .build())
+                : List.of(ErrorResponse.Suggestion.builder()
+                        .action("HOLD_ALTERNATIVE_SEATS")
+                        .endpoint("POST /api/v1/seats/group-hold")
+                        .message("Available seats nearby: " + String.join(", ", ex.getAlternativeSeatNumbers()))
+                        .build());
+
+        return buildErrorResponse(HttpStatus.CONFLICT, ex, request, suggestions);
+    }
+
     @ExceptionHandler(CheckInAlreadyExistsException.class)
     public ResponseEntity<ErrorResponse> handleCheckInAlreadyExists(
             CheckInAlreadyExistsException ex, HttpServletRequest request) {
@@ -135,6 +160,22 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.UNPROCESSABLE_ENTITY, ex, request, suggestions);
     }
 
+    @ExceptionHandler(SeatHoldSupersededException.class)
+    public ResponseEntity<ErrorResponse> handleSeatHoldSuperseded(
+            SeatHoldSupersededException ex, HttpServletRequest request) {
+        log.warn("Stale fencing token presented for seat {}", ex.getSeatNumber());
+
+        List<ErrorResponse.Suggestion> suggestions = List.of(
+                ErrorResponse.Suggestion.builder()
+                        .action("RESELECT_SEAT")
+                        .endpoint("POST /api/v1/seats/" + ex.getSeatId() + "/hold")
+                        .message("Hold the seat again to get a current fencing token")
+                        .build()
+        );
+
+        return buildErrorResponse(HttpStatus.CONFLICT, ex, request, suggestions);
+    }
+
     @ExceptionHandler(SeatHoldExpiredException.class)
     public ResponseEntity<ErrorResponse> handleSeatHoldExpired(
             SeatHoldExpiredException ex, HttpServletRequest request) {
@@ -8,22 +8,19 @@ import java.util.UUID;
 @Getter
 public class SeatAlreadyHeldException extends SkyHighBaseException {
 
+    private final UUID seatId;
     private final UUID flightId;
     private final String seatNumber;
     private final LocalDateTime heldUntil;
 
-    public SeatAlreadyHeldException(UUID flightId, String seatNumber, LocalDateTime heldUntil) {
+    // Not retryable: contended seats are handed over through the seat waitlist instead
+    public SeatAlreadyHeldException(UUID seatId, UUID flightId, String seatNumber, LocalDateTime heldUntil) {
         super("Seat " + seatNumber + " is currently held by another passenger",
-              "SEAT_ALREADY_HELD", true, calculateRetrySeconds(heldUntil));
+              "SEAT_ALREADY_HELD", false);
+        this.seatId = seatId;
         this.flightId = flightId;
         this.seatNumber = seatNumber;
         this.heldUntil = heldUntil;
     }
-
-    private static Integer calculateRetrySeconds(LocalDateTime heldUntil) {
-        if (heldUntil == null) return 120;
-        long seconds = java.time.Duration.between(LocalDateTime.now(), heldUntil).getSeconds();
-        return (int) Math.max(1, seconds);
-    }
 }
 
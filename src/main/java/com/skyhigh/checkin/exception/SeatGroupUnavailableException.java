@@ -0,0 +1,32 @@
+package com.skyhigh.checkin.exception;
+
+import com.skyhigh.checkin.model.enums.SeatClass;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+public class SeatGroupUnavailableException extends SkyHighBaseException {
+
+    private final UUID flightId;
+    private final List<String> unavailableSeatNumbers;
+    private final List<String> alternativeSeatNumbers;
+
+    public SeatGroupUnavailableException(UUID flightId, List<String> unavailableSeatNumbers,
+                                         List<String> alternativeSeatNumbers) {
+        super("Seats " + String.join(", ", unavailableSeatNumbers) + " are no longer available; no seats were held",
+              "SEAT_GROUP_UNAVAILABLE", true);
+        this.flightId = flightId;
+        this.unavailableSeatNumbers = unavailableSeatNumbers;
+        this.alternativeSeatNumbers = alternativeSeatNumbers;
+    }
+
+    public SeatGroupUnavailableException(UUID flightId, SeatClass seatClass, int seatCount) {
+        super("No " + seatCount + " adjacent seats are available in " + seatClass + " class; no seats were held",
+              "SEAT_GROUP_UNAVAILABLE", true);
+        this.flightId = flightId;
+        this.unavailableSeatNumbers = List.of();
+        this.alternativeSeatNumbers = List.of();
+    }
+}
@@ -0,0 +1,23 @@
+package com.skyhigh.checkin.exception;
+
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * A confirm or release presented the fencing token of an earlier hold on the seat, which has since
+ * been taken over and renewed.
+ */
+@Getter
+public class SeatHoldSupersededException extends SkyHighBaseException {
+
+    private final UUID seatId;
+    private final String seatNumber;
+
+    public SeatHoldSupersededException(UUID seatId, String seatNumber) {
+        super("Your hold on seat " + seatNumber + " has been superseded by a newer hold. Please hold the seat again.",
+              "SEAT_HOLD_SUPERSEDED", false);
+        this.seatId = seatId;
+        this.seatNumber = seatNumber;
+    }
+}
@@ -0,0 +1,162 @@
+package com.skyhigh.checkin.lock;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process seat lock table for single-node and test deployments.
+ * Locks live in a fixed number of stripes, each guarded by its own mutex, so operations on
+ * different seats rarely contend. Expired locks are ignored on access and purged periodically.
+ * Fencing tokens are counted per seat and are never lower than the wall clock in microseconds,
+ * so they keep increasing across restarts.
+ */
+@Component
+@ConditionalOnProperty(prefix = "skyhigh.checkin", name = "seat-lock-backend", havingValue = "local")
+public class LocalSeatLockBackend implements SeatLockBackend {
+
+    private static final int STRIPES = 64;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    private record Entry(UUID owner, long expiresAtNanos, long fencingToken) {
+
+        long remainingNanos(long now) {
+            return expiresAtNanos - now;
+        }
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock mutex = new ReentrantLock();
+        private final Map<String, Entry> locks = new HashMap<>();
+        private final Map<String, Long> fencingTokens = new HashMap<>();
+
+        private Entry live(String key, long now) {
+            Entry entry = locks.get(key);
+            if (entry != null && entry.remainingNanos(now) <= 0) {
+                locks.remove(key);
+                return null;
+            }
+            return entry;
+        }
+
+        private long nextFencingToken(String key) {
+            long floor = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+            long token = Math.max(fencingTokens.getOrDefault(key, 0L) + 1, floor);
+            fencingTokens.put(key, token);
+            return token;
+        }
+    }
+
+    public LocalSeatLockBackend() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    public SeatLock acquireOrExtend(UUID flightId, String seatNumber, UUID owner, long ttlMillis) {
+        String key = buildKey(flightId, seatNumber);
+        Stripe stripe = stripeFor(key);
+
+        stripe.mutex.lock();
+        try {
+            long now = System.nanoTime();
+            Entry entry = stripe.live(key, now);
+            if (entry == null || entry.owner().equals(owner)) {
+                long fencingToken = entry != null ? entry.fencingToken() : stripe.nextFencingToken(key);
+                stripe.locks.put(key, new Entry(owner, now + TimeUnit.MILLISECONDS.toNanos(ttlMillis), fencingToken));
+                return new SeatLock(owner, ttlMillis, fencingToken);
+            }
+            return new SeatLock(entry.owner(), TimeUnit.NANOSECONDS.toMillis(entry.remainingNanos(now)),
+                    entry.fencingToken());
+        } finally {
+            stripe.mutex.unlock();
+        }
+    }
+
+    @Override
+    public boolean release(UUID flightId, String seatNumber, UUID owner) {
+        String key = buildKey(flightId, seatNumber);
+        Stripe stripe = stripeFor(key);
+
+        stripe.mutex.lock();
+        try {
+            Entry entry = stripe.live(key, System.nanoTime());
+            return entry != null && entry.owner().equals(owner) && stripe.locks.remove(key) != null;
+        } finally {
+            stripe.mutex.unlock();
+        }
+    }
+
+    @Override
+    public int releaseAll(List<LockRelease> releases) {
+        int released = 0;
+        for (LockRelease release : releases) {
+            if (release(release.flightId(), release.seatNumber(), release.owner())) {
+                released++;
+            }
+        }
+        return released;
+    }
+
+    @Override
+    public UUID getOwner(UUID flightId, String seatNumber) {
+        String key = buildKey(flightId, seatNumber);
+        Stripe stripe = stripeFor(key);
+
+        stripe.mutex.lock();
+        try {
+            Entry entry = stripe.live(key, System.nanoTime());
+            return entry != null ? entry.owner() : null;
+        } finally {
+            stripe.mutex.unlock();
+        }
+    }
+
+    @Override
+    public void forceRelease(UUID flightId, String seatNumber) {
+        String key = buildKey(flightId, seatNumber);
+        Stripe stripe = stripeFor(key);
+
+        stripe.mutex.lock();
+        try {
+            stripe.locks.remove(key);
+        } finally {
+            stripe.mutex.unlock();
+        }
+    }
+
+    /**
+     * Drops expired locks that were never touched again, with the fencing token counters of unlocked
+     * seats; the clock floor keeps later tokens above the dropped ones.
+     */
+    @Scheduled(fixedRate = 60000) // 1 minute
+    public void purgeExpired() {
+        for (Stripe stripe : stripes) {
+            stripe.mutex.lock();
+            try {
+                long now = System.nanoTime();
+                stripe.locks.values().removeIf(entry -> entry.remainingNanos(now) <= 0);
+                stripe.fencingTokens.keySet().retainAll(stripe.locks.keySet());
+            } finally {
+                stripe.mutex.unlock();
+            }
+        }
+    }
+
+    private Stripe stripeFor(String key) {
+        return stripes[Math.floorMod(key.hashCode(), STRIPES)];
+    }
+
+    private String buildKey(UUID flightId, String seatNumber) {
+        return flightId + ":" + seatNumber;
+    }
+}
@@ -0,0 +1,8 @@
+package com.skyhigh.checkin.lock;
+
+import java.util.UUID;
+
+/**
+ * A seat lock to acquire, or extend if it is already owned by {@code owner}.
+ */
+public record LockClaim(UUID flightId, String seatNumber, UUID owner) {}
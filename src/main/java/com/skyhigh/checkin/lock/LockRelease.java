@@ -0,0 +1,8 @@
+package com.skyhigh.checkin.lock;
+
+import java.util.UUID;
+
+/**
+ * A seat lock to release if it is still owned by {@code owner}.
+ */
+public record LockRelease(UUID flightId, String seatNumber, UUID owner) {}
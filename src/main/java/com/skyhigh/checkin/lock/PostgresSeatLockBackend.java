@@ -0,0 +1,92 @@
+package com.skyhigh.checkin.lock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Seat locks backed by Postgres, for deployments without Redis.
+ * A transaction-scoped advisory lock serialises work on a seat until the calling transaction ends,
+ * and the seat row's hold (holder and {@code held_until}) is the durable lock, so there is nothing
+ * to release separately: rows are released by the same transactions that update them.
+ * Fencing tokens are the ones recorded on the seat rows, which the hold statements advance for every new holder.
+ * Must be called inside the transaction that changes the seat.
+ */
+@Component
+@ConditionalOnProperty(prefix = "skyhigh.checkin", name = "seat-lock-backend", havingValue = "postgres")
+@RequiredArgsConstructor
+public class PostgresSeatLockBackend implements SeatLockBackend {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private record Hold(UUID owner, LocalDateTime heldUntil, long fencingToken) {}
+
+    @Override
+    public SeatLock acquireOrExtend(UUID flightId, String seatNumber, UUID owner, long ttlMillis) {
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class,
+                advisoryKey(flightId, seatNumber));
+        if (!Boolean.TRUE.equals(locked)) {
+            // Another transaction is changing this seat right now
+            return new SeatLock(null, 0, 0);
+        }
+
+        Hold hold = findHold(flightId, seatNumber);
+        if (hold == null || hold.owner() == null) {
+            return new SeatLock(owner, ttlMillis, (hold != null ? hold.fencingToken() : 0) + 1);
+        }
+        if (hold.owner().equals(owner)) {
+            return new SeatLock(owner, ttlMillis, hold.fencingToken());
+        }
+        return new SeatLock(hold.owner(), Duration.between(LocalDateTime.now(), hold.heldUntil()).toMillis(),
+                hold.fencingToken());
+    }
+
+    @Override
+    public boolean release(UUID flightId, String seatNumber, UUID owner) {
+        return true;
+    }
+
+    @Override
+    public int releaseAll(List<LockRelease> releases) {
+        return releases.size();
+    }
+
+    @Override
+    public UUID getOwner(UUID flightId, String seatNumber) {
+        Hold hold = findHold(flightId, seatNumber);
+        return hold != null ? hold.owner() : null;
+    }
+
+    @Override
+    public void forceRelease(UUID flightId, String seatNumber) {
+        // The advisory lock ends with the transaction and the seat row is released by its caller
+    }
+
+    /**
+     * @return The seat's live hold, with a null owner if it is not held, or null if there is no such seat
+     */
+    private Hold findHold(UUID flightId, String seatNumber) {
+        List<Hold> holds = jdbcTemplate.query(
+                "SELECT CASE WHEN status = 'HELD' AND held_until >= ? THEN held_by_passenger_id END, " +
+                "held_until, fencing_token FROM seats WHERE flight_id = ? AND seat_number = ?",
+                (rs, rowNum) -> {
+                    UUID holder = rs.getObject(1, UUID.class);
+                    Timestamp heldUntil = rs.getTimestamp(2);
+                    return new Hold(holder, holder != null ? heldUntil.toLocalDateTime() : null, rs.getLong(3));
+                },
+                Timestamp.valueOf(LocalDateTime.now()), flightId, seatNumber);
+        return holds.isEmpty() ? null : holds.get(0);
+    }
+
+    private long advisoryKey(UUID flightId, String seatNumber) {
+        long key = flightId.getMostSignificantBits() * 31 + flightId.getLeastSignificantBits();
+        return key * 31 + seatNumber.hashCode();
+    }
+}
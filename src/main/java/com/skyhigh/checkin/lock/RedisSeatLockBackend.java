@@ -0,0 +1,127 @@
+package com.skyhigh.checkin.lock;
+
+import com.skyhigh.checkin.cache.RedisGuard;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Seat locks as Redis keys with a TTL, shared by all nodes. The default backend.
+ * Calls go through the {@link RedisGuard}, so while Redis is unhealthy they fail fast and
+ * seat holds fall back to the database's conditional updates alone.
+ * Fencing tokens come from a per-seat counter key next to the lock key.
+ */
+@Component
+@ConditionalOnProperty(prefix = "skyhigh.checkin", name = "seat-lock-backend", havingValue = "redis", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RedisSeatLockBackend implements SeatLockBackend {
+
+    public static final String SEAT_LOCK_PREFIX = "seat:lock:";
+    public static final String FENCING_TOKEN_PREFIX = "seat:fence:";
+
+    // Executed with EVALSHA; the script body is only sent again if Redis does not have it cached
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ACQUIRE_OR_EXTEND_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/acquire-or-extend-seat-lock.lua"), List.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ACQUIRE_OR_EXTEND_ALL_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/acquire-or-extend-seat-locks.lua"), List.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/release-seat-locks.lua"), Long.class);
+
+    private static final String OPERATION = "seatLock";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisGuard redisGuard;
+
+    @Override
+    public SeatLock acquireOrExtend(UUID flightId, String seatNumber, UUID owner, long ttlMillis) {
+        List<?> result = guarded(() -> redisTemplate.execute(ACQUIRE_OR_EXTEND_SCRIPT,
+                List.of(buildLockKey(flightId, seatNumber), buildFencingTokenKey(flightId, seatNumber)),
+                owner.toString(), Long.toString(ttlMillis)));
+        return toSeatLock(result, 0);
+    }
+
+    @Override
+    public List<SeatLock> acquireOrExtendAll(List<LockClaim> claims, long ttlMillis) {
+        List<String> keys = new ArrayList<>(claims.size() * 2);
+        claims.forEach(claim -> keys.add(buildLockKey(claim.flightId(), claim.seatNumber())));
+        claims.forEach(claim -> keys.add(buildFencingTokenKey(claim.flightId(), claim.seatNumber())));
+        Object[] args = new Object[claims.size() + 1];
+        args[0] = Long.toString(ttlMillis);
+        for (int i = 0; i < claims.size(); i++) {
+            args[i + 1] = claims.get(i).owner().toString();
+        }
+
+        List<?> result = guarded(() -> redisTemplate.execute(ACQUIRE_OR_EXTEND_ALL_SCRIPT, keys, args));
+        List<SeatLock> locks = new ArrayList<>(claims.size());
+        for (int i = 0; i < claims.size(); i++) {
+            locks.add(toSeatLock(result, i * 3));
+        }
+        return locks;
+    }
+
+    @Override
+    public boolean release(UUID flightId, String seatNumber, UUID owner) {
+        Long released = guarded(() -> redisTemplate.execute(RELEASE_SCRIPT,
+                List.of(buildLockKey(flightId, seatNumber)), owner.toString()));
+        return released != null && released > 0;
+    }
+
+    @Override
+    public int releaseAll(List<LockRelease> releases) {
+        List<String> lockKeys = releases.stream()
+                .map(release -> buildLockKey(release.flightId(), release.seatNumber()))
+                .toList();
+        String[] owners = releases.stream()
+                .map(release -> release.owner().toString())
+                .toArray(String[]::new);
+
+        Long released = guarded(() -> redisTemplate.execute(RELEASE_SCRIPT, lockKeys, (Object[]) owners));
+        return released != null ? released.intValue() : 0;
+    }
+
+    @Override
+    public UUID getOwner(UUID flightId, String seatNumber) {
+        String value = guarded(() -> redisTemplate.opsForValue().get(buildLockKey(flightId, seatNumber)));
+        return value != null ? UUID.fromString(value) : null;
+    }
+
+    @Override
+    public void forceRelease(UUID flightId, String seatNumber) {
+        guarded(() -> redisTemplate.delete(buildLockKey(flightId, seatNumber)));
+    }
+
+    // Scripts return each lock as {owner, remaining TTL, fencing token}
+    private SeatLock toSeatLock(List<?> result, int offset) {
+        return new SeatLock(UUID.fromString(result.get(offset).toString()),
+                ((Number) result.get(offset + 1)).longValue(),
+                ((Number) result.get(offset + 2)).longValue());
+    }
+
+    private <T> T guarded(Supplier<T> redisCall) {
+        try {
+            return redisGuard.execute(redisCall);
+        } catch (RuntimeException e) {
+            // SeatLockService reports the lock as unknown and the caller proceeds on the database alone
+            redisGuard.recordFallback(OPERATION);
+            throw e;
+        }
+    }
+
+    public static String buildLockKey(UUID flightId, String seatNumber) {
+        return SEAT_LOCK_PREFIX + flightId.toString() + ":" + seatNumber;
+    }
+
+    public static String buildFencingTokenKey(UUID flightId, String seatNumber) {
+        return FENCING_TOKEN_PREFIX + flightId.toString() + ":" + seatNumber;
+    }
+}
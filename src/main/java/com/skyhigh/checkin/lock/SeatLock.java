@@ -0,0 +1,16 @@
+package com.skyhigh.checkin.lock;
+
+import java.util.UUID;
+
+/**
+ * Owner, remaining time and fencing token of a seat lock.
+ * The fencing token is issued when a lock is acquired, stays the same while its owner extends it,
+ * and is larger than every token issued for the seat before; a seat hold records it so that
+ * writes by a holder whose lock has since been taken over can be rejected.
+ */
+public record SeatLock(UUID owner, long ttlMillis, long fencingToken) {
+
+    public boolean isOwnedBy(UUID passengerId) {
+        return passengerId.equals(owner);
+    }
+}
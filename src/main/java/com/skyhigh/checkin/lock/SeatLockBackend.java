@@ -0,0 +1,72 @@
+package com.skyhigh.checkin.lock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Storage for seat locks, selected with {@code skyhigh.checkin.seat-lock-backend}
+ * ({@code redis}, {@code local} or {@code postgres}).
+ * Every acquisition issues a fencing token larger than any issued for the seat before, also across
+ * restarts of the lock store, so that tokens recorded on seat rows never have to be reset.
+ * Implementations throw on infrastructure failures; {@link com.skyhigh.checkin.service.SeatLockService}
+ * logs them and falls back.
+ */
+public interface SeatLockBackend {
+
+    /**
+     * Acquires the lock for a seat, or extends it to the full TTL if {@code owner} already holds it.
+     * Extending a lock keeps its fencing token.
+     *
+     * @return The lock owner, remaining TTL and fencing token after the call
+     */
+    SeatLock acquireOrExtend(UUID flightId, String seatNumber, UUID owner, long ttlMillis);
+
+    /**
+     * Acquires or extends several seat locks, all or nothing: either every lock ends up owned by its
+     * claimed owner, or none of them is changed.
+     * The default acquires the locks one by one and releases them again if any is taken; backends
+     * that can do better override it.
+     *
+     * @return Each claimed lock after the call, in claim order
+     */
+    default List<SeatLock> acquireOrExtendAll(List<LockClaim> claims, long ttlMillis) {
+        List<SeatLock> locks = new ArrayList<>(claims.size());
+        for (LockClaim claim : claims) {
+            locks.add(acquireOrExtend(claim.flightId(), claim.seatNumber(), claim.owner(), ttlMillis));
+        }
+
+        List<LockRelease> acquired = new ArrayList<>();
+        for (int i = 0; i < claims.size(); i++) {
+            LockClaim claim = claims.get(i);
+            if (locks.get(i).isOwnedBy(claim.owner())) {
+                acquired.add(new LockRelease(claim.flightId(), claim.seatNumber(), claim.owner()));
+            }
+        }
+        if (acquired.size() < claims.size()) {
+            releaseAll(acquired);
+        }
+        return locks;
+    }
+
+    /**
+     * Releases the lock for a seat if it is owned by {@code owner}.
+     *
+     * @return true if the lock was released
+     */
+    boolean release(UUID flightId, String seatNumber, UUID owner);
+
+    /**
+     * Releases each lock that is still owned by its expected owner.
+     *
+     * @return The number of locks released
+     */
+    int releaseAll(List<LockRelease> releases);
+
+    /**
+     * @return The lock owner, or null if the seat is not locked
+     */
+    UUID getOwner(UUID flightId, String seatNumber);
+
+    void forceRelease(UUID flightId, String seatNumber);
+}
@@ -0,0 +1,71 @@
+package com.skyhigh.checkin.lock;
+
+import com.skyhigh.checkin.cache.RedisGuard;
+import com.skyhigh.checkin.scheduler.SeatHoldExpiryScheduler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Releases a seat in the database as soon as its Redis seat lock expires, using Redis expired-key events
+ * (requires {@code notify-keyspace-events Ex} on the Redis server).
+ * Every node receives every event, so the first node to claim an expiry handles it and the others skip it.
+ * Events are best effort; the hold expiry wheel and the periodic scan still cover any that are missed.
+ */
+@Component
+@ConditionalOnProperty(prefix = "skyhigh.checkin", name = "seat-lock-expiry-events-enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class SeatLockExpiryListener implements MessageListener {
+
+    public static final String EXPIRED_KEY_EVENTS = "__keyevent@*__:expired";
+
+    private static final String EXPIRY_CLAIM_PREFIX = "seat:expiry:claim:";
+    private static final Duration EXPIRY_CLAIM_TTL = Duration.ofSeconds(30);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisGuard redisGuard;
+    private final SeatHoldExpiryScheduler seatHoldExpiryScheduler;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String key = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (!key.startsWith(RedisSeatLockBackend.SEAT_LOCK_PREFIX)) {
+            return;
+        }
+
+        try {
+            // Key is seat:lock:{flightId}:{seatNumber}
+            String lock = key.substring(RedisSeatLockBackend.SEAT_LOCK_PREFIX.length());
+            int separator = lock.indexOf(':');
+            UUID flightId = UUID.fromString(lock.substring(0, separator));
+            String seatNumber = lock.substring(separator + 1);
+
+            if (!claim(key)) {
+                return;
+            }
+
+            if (seatHoldExpiryScheduler.releaseExpiredSeatHold(flightId, seatNumber)) {
+                log.info("Released seat {} on flight {} after its lock expired", seatNumber, flightId);
+            }
+        } catch (Exception e) {
+            log.error("Error handling expired seat lock {}: {}", key, e.getMessage());
+        }
+    }
+
+    private boolean claim(String key) {
+        Boolean claimed = redisGuard.execute(() ->
+                redisTemplate.opsForValue().setIfAbsent(EXPIRY_CLAIM_PREFIX + key, nodeId, EXPIRY_CLAIM_TTL));
+        return Boolean.TRUE.equals(claimed);
+    }
+}
@@ -27,6 +27,10 @@ public class Booking {
     @Column(name = "booking_reference", nullable = false, unique = true, length = 6)
     private String bookingReference;
 
+    // Shared by bookings made together; null for a booking that travels alone
+    @Column(name = "group_reference", length = 6)
+    private String groupReference;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "passenger_id", nullable = false)
     private Passenger passenger;
@@ -51,5 +55,12 @@ public class Booking {
     public boolean isActive() {
         return status == BookingStatus.ACTIVE;
     }
+
+    /**
+     * Tells whether this booking was made together with another one.
+     */
+    public boolean isInGroupWith(Booking other) {
+        return groupReference != null && groupReference.equals(other.getGroupReference());
+    }
 }
 
@@ -93,6 +93,13 @@ public class CheckIn {
         return LocalDateTime.now().isAfter(expiresAt);
     }
 
+    /**
+     * Tells whether the check-in is still in progress, waiting for payment included, and its session has not expired.
+     */
+    public boolean isActive() {
+        return (isInProgress() || isWaitingPayment()) && !isExpired();
+    }
+
     public void updateActivity() {
         this.lastActivityAt = LocalDateTime.now();
     }
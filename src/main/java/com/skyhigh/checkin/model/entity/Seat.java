@@ -52,6 +52,11 @@ public class Seat {
     @JoinColumn(name = "confirmed_by_passenger_id")
     private Passenger confirmedByPassenger;
 
+    // Fencing token of the current or last hold; confirms and releases presenting another token are rejected
+    @Column(name = "fencing_token", nullable = false)
+    @Builder.Default
+    private Long fencingToken = 0L;
+
     @Version
     @Column(nullable = false)
     @Builder.Default
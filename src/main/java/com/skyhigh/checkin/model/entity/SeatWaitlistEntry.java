@@ -0,0 +1,62 @@
+package com.skyhigh.checkin.model.entity;
+
+import com.skyhigh.checkin.model.enums.WaitlistStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "seat_waitlist")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatWaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "seat_id", nullable = false)
+    private UUID seatId;
+
+    @Column(name = "flight_id", nullable = false)
+    private UUID flightId;
+
+    @Column(name = "seat_number", nullable = false, length = 4)
+    private String seatNumber;
+
+    @Column(name = "check_in_id", nullable = false)
+    private UUID checkInId;
+
+    @Column(name = "passenger_id", nullable = false)
+    private UUID passengerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private WaitlistStatus status = WaitlistStatus.WAITING;
+
+    @Column(name = "held_until")
+    private LocalDateTime heldUntil;
+
+    @Column(name = "resolved_at")
+    private LocalDateTime resolvedAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public boolean isWaiting() {
+        return status == WaitlistStatus.WAITING;
+    }
+
+    public void resolve(WaitlistStatus status, LocalDateTime resolvedAt) {
+        this.status = status;
+        this.resolvedAt = resolvedAt;
+    }
+}
@@ -0,0 +1,7 @@
+package com.skyhigh.checkin.model.enums;
+
+public enum SeatPosition {
+    WINDOW,
+    AISLE,
+    MIDDLE
+}
@@ -0,0 +1,8 @@
+package com.skyhigh.checkin.model.enums;
+
+public enum WaitlistStatus {
+    WAITING,
+    ASSIGNED,
+    CANCELLED,
+    EXPIRED
+}
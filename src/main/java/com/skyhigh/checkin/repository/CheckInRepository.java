@@ -2,15 +2,17 @@ package com.skyhigh.checkin.repository;
 
 import com.skyhigh.checkin.model.entity.CheckIn;
 import com.skyhigh.checkin.model.enums.CheckInStatus;
+import com.skyhigh.checkin.model.enums.SeatStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,6 +23,10 @@ public interface CheckInRepository extends JpaRepository<CheckIn, UUID> {
     @Query("SELECT c FROM CheckIn c JOIN FETCH c.booking b JOIN FETCH b.passenger JOIN FETCH b.flight WHERE c.id = :id")
     Optional<CheckIn> findByIdWithDetails(@Param("id") UUID id);
 
+    @Query("SELECT c FROM CheckIn c JOIN FETCH c.booking b JOIN FETCH b.passenger JOIN FETCH b.flight LEFT JOIN FETCH c.seat " +
+           "WHERE c.id IN :ids")
+    List<CheckIn> findAllByIdWithDetails(@Param("ids") Collection<UUID> ids);
+
     @Lock(LockModeType.OPTIMISTIC)
     @Query("SELECT c FROM CheckIn c WHERE c.id = :id")
     Optional<CheckIn> findByIdWithLock(@Param("id") UUID id);
@@ -35,10 +41,29 @@ public interface CheckInRepository extends JpaRepository<CheckIn, UUID> {
     @Query("SELECT c FROM CheckIn c WHERE c.status IN ('IN_PROGRESS', 'WAITING_PAYMENT') AND c.expiresAt < :now")
     List<CheckIn> findExpiredSessions(@Param("now") LocalDateTime now);
 
-    @Modifying
-    @Query("UPDATE CheckIn c SET c.status = 'EXPIRED', c.version = c.version + 1 " +
-           "WHERE c.status IN ('IN_PROGRESS', 'WAITING_PAYMENT') AND c.expiresAt < :now")
-    int expireSessions(@Param("now") LocalDateTime now);
+    /**
+     * Finds the next page of expired sessions after {@code afterId}, in ID order, with what is needed
+     * to release their seat locks. Nothing is loaded into the persistence context.
+     */
+    @Query("SELECT c.id AS id, b.bookingReference AS bookingReference, b.flight.id AS flightId, " +
+           "s.seatNumber AS seatNumber, s.status AS seatStatus, s.heldByPassenger.id AS heldByPassengerId " +
+           "FROM CheckIn c JOIN c.booking b LEFT JOIN c.seat s " +
+           "WHERE c.status IN ('IN_PROGRESS', 'WAITING_PAYMENT') AND c.expiresAt < :now AND c.id > :afterId " +
+           "ORDER BY c.id")
+    List<ExpiredSession> findExpiredSessionsAfter(@Param("now") LocalDateTime now,
+                                                  @Param("afterId") UUID afterId,
+                                                  Limit limit);
+
+    /**
+     * Expires the given sessions in one statement, skipping any that saw activity since they were found.
+     *
+     * @return The IDs of the sessions expired
+     */
+    @Query(value = "UPDATE check_ins SET status = 'EXPIRED', version = version + 1 " +
+           "WHERE id IN (:ids) AND status IN ('IN_PROGRESS', 'WAITING_PAYMENT') AND expires_at < :now " +
+           "RETURNING id",
+           nativeQuery = true)
+    List<UUID> expireSessions(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
 
     List<CheckIn> findByStatus(CheckInStatus status);
 
@@ -47,5 +72,14 @@ public interface CheckInRepository extends JpaRepository<CheckIn, UUID> {
 
     @Query("SELECT c FROM CheckIn c WHERE c.booking.flight.id = :flightId AND c.status = 'COMPLETED'")
     List<CheckIn> findCompletedCheckInsByFlightId(@Param("flightId") UUID flightId);
+
+    interface ExpiredSession {
+        UUID getId();
+        String getBookingReference();
+        UUID getFlightId();
+        String getSeatNumber();
+        SeatStatus getSeatStatus();
+        UUID getHeldByPassengerId();
+    }
 }
 
@@ -12,6 +12,7 @@ import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,6 +20,14 @@ import java.util.UUID;
 @Repository
 public interface SeatRepository extends JpaRepository<Seat, UUID> {
 
+    String RELEASE_EXPIRED = "UPDATE seats s SET status = 'AVAILABLE', held_by_passenger_id = NULL, held_until = NULL, " +
+            "version = s.version + 1, updated_at = :now FROM expired WHERE s.id = expired.id " +
+            "RETURNING s.id AS id, s.flight_id AS \"flightId\", s.seat_number AS \"seatNumber\", " +
+            "expired.held_by_passenger_id AS \"heldByPassengerId\"";
+
+    String SEAT_TRANSITION = "RETURNING s.id AS id, s.flight_id AS \"flightId\", s.seat_number AS \"seatNumber\", " +
+            "s.seat_class AS \"seatClass\", old.status AS \"previousStatus\", s.fencing_token AS \"fencingToken\"";
+
     List<Seat> findByFlightId(UUID flightId);
 
     List<Seat> findByFlightIdAndStatus(UUID flightId, SeatStatus status);
@@ -31,18 +40,182 @@ public interface SeatRepository extends JpaRepository<Seat, UUID> {
     @Query("SELECT s FROM Seat s WHERE s.id = :seatId")
     Optional<Seat> findByIdWithLock(@Param("seatId") UUID seatId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Seat s JOIN FETCH s.flight WHERE s.id = :seatId")
+    Optional<Seat> findByIdForUpdate(@Param("seatId") UUID seatId);
+
     @Query("SELECT s FROM Seat s WHERE s.status = 'HELD' AND s.heldUntil < :now")
     List<Seat> findExpiredHolds(@Param("now") LocalDateTime now);
 
+    /**
+     * Releases up to {@code limit} expired holds in one statement, oldest first.
+     * Rows locked by a concurrent hold or confirm are skipped and picked up by a later sweep.
+     *
+     * @return The released seats with the passenger that held them
+     */
+    @Query(value = "WITH expired AS (SELECT id, held_by_passenger_id FROM seats " +
+           "WHERE status = 'HELD' AND held_until < :now ORDER BY held_until LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+           RELEASE_EXPIRED,
+           nativeQuery = true)
+    List<ReleasedHold> releaseExpiredHolds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Releases the holds of the given seats in one statement, skipping seats whose hold has not expired.
+     *
+     * @return The released seats with the passenger that held them
+     */
+    @Query(value = "WITH expired AS (SELECT id, held_by_passenger_id FROM seats " +
+           "WHERE id IN (:seatIds) AND status = 'HELD' AND held_until < :now FOR UPDATE SKIP LOCKED) " +
+           RELEASE_EXPIRED,
+           nativeQuery = true)
+    List<ReleasedHold> releaseExpiredHolds(@Param("seatIds") Collection<UUID> seatIds, @Param("now") LocalDateTime now);
+
+    /**
+     * Releases a seat's hold by flight and seat number if it has expired.
+     *
+     * @return The released seat with the passenger that held it, or nothing if the hold was still live
+     */
+    @Query(value = "WITH expired AS (SELECT id, held_by_passenger_id FROM seats " +
+           "WHERE flight_id = :flightId AND seat_number = :seatNumber AND status = 'HELD' AND held_until < :now " +
+           "FOR UPDATE SKIP LOCKED) " +
+           RELEASE_EXPIRED,
+           nativeQuery = true)
+    List<ReleasedHold> releaseExpiredHold(@Param("flightId") UUID flightId,
+                                          @Param("seatNumber") String seatNumber,
+                                          @Param("now") LocalDateTime now);
+
+    /**
+     * Holds a seat for a passenger in one statement if it is available, its hold has expired
+     * or it is already held by that passenger. A new holder gets the next fencing token; extending
+     * a live hold keeps it.
+     *
+     * @return The held seat with the status it had before, or empty if the seat could not be held
+     */
+    @Query(value = "WITH old AS (SELECT id, status, held_by_passenger_id, held_until FROM seats WHERE id = :seatId FOR UPDATE) " +
+           "UPDATE seats s SET status = 'HELD', held_by_passenger_id = :passengerId, held_until = :heldUntil, " +
+           "fencing_token = CASE WHEN old.status = 'HELD' AND old.held_until >= :now " +
+           "THEN s.fencing_token ELSE s.fencing_token + 1 END, " +
+           "version = s.version + 1, updated_at = :now " +
+           "FROM old WHERE s.id = old.id AND (old.status = 'AVAILABLE' OR (old.status = 'HELD' " +
+           "AND (old.held_until < :now OR old.held_by_passenger_id = :passengerId))) " +
+           SEAT_TRANSITION,
+           nativeQuery = true)
+    Optional<SeatTransition> holdIfAvailable(@Param("seatId") UUID seatId,
+                                             @Param("passengerId") UUID passengerId,
+                                             @Param("heldUntil") LocalDateTime heldUntil,
+                                             @Param("now") LocalDateTime now);
+
+    /**
+     * Holds the first seat of a ranked candidate list that is still available (or whose hold has expired)
+     * in one statement. Candidates locked by a concurrent claim are skipped rather than waited for,
+     * so the statement never has to be retried while any candidate is left.
+     *
+     * @param rankedSeatIds The candidate seat IDs, comma separated, best first
+     * @return The held seat with the status it had before, or empty if no candidate could be held
+     */
+    @Query(value = "WITH old AS (SELECT id, status FROM seats " +
+           "WHERE id = ANY(CAST(string_to_array(:rankedSeatIds, ',') AS uuid[])) " +
+           "AND (status = 'AVAILABLE' OR (status = 'HELD' AND held_until < :now)) " +
+           "ORDER BY array_position(CAST(string_to_array(:rankedSeatIds, ',') AS uuid[]), id) " +
+           "LIMIT 1 FOR UPDATE SKIP LOCKED) " +
+           "UPDATE seats s SET status = 'HELD', held_by_passenger_id = :passengerId, held_until = :heldUntil, " +
+           "fencing_token = s.fencing_token + 1, version = s.version + 1, updated_at = :now " +
+           "FROM old WHERE s.id = old.id " +
+           SEAT_TRANSITION,
+           nativeQuery = true)
+    Optional<SeatTransition> holdFirstAvailable(@Param("rankedSeatIds") String rankedSeatIds,
+                                                @Param("passengerId") UUID passengerId,
+                                                @Param("heldUntil") LocalDateTime heldUntil,
+                                                @Param("now") LocalDateTime now);
+
+    /**
+     * Raises the fencing token of a passenger's hold to the token of the seat lock acquired for it.
+     * A lower token than the recorded one belongs to a lock that has since been taken over.
+     *
+     * @return 1 if the token was recorded, 0 if the passenger does not hold the seat or the token is stale
+     */
     @Modifying
-    @Query("UPDATE Seat s SET s.status = 'AVAILABLE', s.heldByPassenger = null, s.heldUntil = null, s.version = s.version + 1 " +
-           "WHERE s.status = 'HELD' AND s.heldUntil < :now")
-    int releaseExpiredHolds(@Param("now") LocalDateTime now);
+    @Query(value = "UPDATE seats SET fencing_token = :fencingToken " +
+           "WHERE id = :seatId AND status = 'HELD' AND held_by_passenger_id = :passengerId AND fencing_token <= :fencingToken",
+           nativeQuery = true)
+    int recordFencingToken(@Param("seatId") UUID seatId,
+                           @Param("passengerId") UUID passengerId,
+                           @Param("fencingToken") long fencingToken);
 
-    @Query("SELECT COUNT(s) FROM Seat s WHERE s.flight.id = :flightId AND s.status = :status")
-    long countByFlightIdAndStatus(@Param("flightId") UUID flightId, @Param("status") SeatStatus status);
+    /**
+     * Confirms a seat in one statement if it is held by the passenger, the hold has not expired and,
+     * when a fencing token is given, the hold still carries that token.
+     *
+     * @return The confirmed seat, or empty if the seat could not be confirmed
+     */
+    @Query(value = "WITH old AS (SELECT id, status FROM seats WHERE id = :seatId AND status = 'HELD' " +
+           "AND held_by_passenger_id = :passengerId AND held_until >= :now " +
+           "AND (CAST(:fencingToken AS BIGINT) IS NULL OR fencing_token = :fencingToken) FOR UPDATE) " +
+           "UPDATE seats s SET status = 'CONFIRMED', confirmed_by_passenger_id = :passengerId, " +
+           "held_by_passenger_id = NULL, held_until = NULL, version = s.version + 1, updated_at = :now " +
+           "FROM old WHERE s.id = old.id " +
+           SEAT_TRANSITION,
+           nativeQuery = true)
+    Optional<SeatTransition> confirmIfHeldBy(@Param("seatId") UUID seatId,
+                                             @Param("passengerId") UUID passengerId,
+                                             @Param("fencingToken") Long fencingToken,
+                                             @Param("now") LocalDateTime now);
 
-    @Query("SELECT s FROM Seat s WHERE s.flight.id = :flightId ORDER BY s.seatClass, s.seatNumber")
+    /**
+     * Releases a seat in one statement if it is held by the passenger and, when a fencing token is given,
+     * the hold still carries that token.
+     *
+     * @return The released seat, or empty if the seat could not be released
+     */
+    @Query(value = "WITH old AS (SELECT id, status FROM seats WHERE id = :seatId AND status = 'HELD' " +
+           "AND held_by_passenger_id = :passengerId " +
+           "AND (CAST(:fencingToken AS BIGINT) IS NULL OR fencing_token = :fencingToken) FOR UPDATE) " +
+           "UPDATE seats s SET status = 'AVAILABLE', held_by_passenger_id = NULL, held_until = NULL, " +
+           "version = s.version + 1, updated_at = :now FROM old WHERE s.id = old.id " +
+           SEAT_TRANSITION,
+           nativeQuery = true)
+    Optional<SeatTransition> releaseIfHeldBy(@Param("seatId") UUID seatId,
+                                             @Param("passengerId") UUID passengerId,
+                                             @Param("fencingToken") Long fencingToken,
+                                             @Param("now") LocalDateTime now);
+
+    /**
+     * Reads when the holds of the given seats expire, for seats that are still held.
+     */
+    @Query("SELECT s.id AS id, s.heldUntil AS heldUntil FROM Seat s WHERE s.id IN :seatIds AND s.status = 'HELD'")
+    List<HoldDeadline> findHoldDeadlines(@Param("seatIds") Collection<UUID> seatIds);
+
+    @Query("SELECT s.seatClass AS seatClass, s.status AS status, COUNT(s) AS count FROM Seat s " +
+           "WHERE s.flight.id = :flightId GROUP BY s.seatClass, s.status")
+    List<SeatClassStatusCount> countByFlightIdGroupByClassAndStatus(@Param("flightId") UUID flightId);
+
+    @Query("SELECT s FROM Seat s JOIN FETCH s.flight WHERE s.flight.id = :flightId ORDER BY s.seatClass, s.seatNumber")
     List<Seat> findByFlightIdOrderBySeatClassAndNumber(@Param("flightId") UUID flightId);
-}
 
+    interface SeatTransition {
+        UUID getId();
+        UUID getFlightId();
+        String getSeatNumber();
+        SeatClass getSeatClass();
+        SeatStatus getPreviousStatus();
+        Long getFencingToken();
+    }
+
+    interface ReleasedHold {
+        UUID getId();
+        UUID getFlightId();
+        String getSeatNumber();
+        UUID getHeldByPassengerId();
+    }
+
+    interface HoldDeadline {
+        UUID getId();
+        LocalDateTime getHeldUntil();
+    }
+
+    interface SeatClassStatusCount {
+        SeatClass getSeatClass();
+        SeatStatus getStatus();
+        long getCount();
+    }
+}
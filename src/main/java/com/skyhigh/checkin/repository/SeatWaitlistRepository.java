@@ -0,0 +1,55 @@
+package com.skyhigh.checkin.repository;
+
+import com.skyhigh.checkin.model.entity.SeatWaitlistEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface SeatWaitlistRepository extends JpaRepository<SeatWaitlistEntry, UUID> {
+
+    /**
+     * Locks the first waiting entries of a seat's queue, oldest first.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM SeatWaitlistEntry w WHERE w.seatId = :seatId AND w.status = 'WAITING' " +
+           "ORDER BY w.createdAt, w.id")
+    List<SeatWaitlistEntry> findWaitingForUpdate(@Param("seatId") UUID seatId, Limit limit);
+
+    @Query("SELECT w FROM SeatWaitlistEntry w WHERE w.seatId = :seatId AND w.checkInId = :checkInId " +
+           "AND w.status = 'WAITING'")
+    Optional<SeatWaitlistEntry> findWaiting(@Param("seatId") UUID seatId, @Param("checkInId") UUID checkInId);
+
+    @Query("SELECT DISTINCT w.seatId FROM SeatWaitlistEntry w WHERE w.seatId IN :seatIds AND w.status = 'WAITING'")
+    List<UUID> findSeatIdsWithWaiting(@Param("seatIds") Collection<UUID> seatIds);
+
+    /**
+     * Cancels the waiting entries a check-in has on other seats once one of its entries was assigned a seat.
+     *
+     * @return The number of entries cancelled
+     */
+    @Modifying
+    @Query("UPDATE SeatWaitlistEntry w SET w.status = 'CANCELLED', w.resolvedAt = :now " +
+           "WHERE w.checkInId = :checkInId AND w.status = 'WAITING' AND w.id <> :assignedId")
+    int cancelOtherWaiting(@Param("checkInId") UUID checkInId,
+                           @Param("assignedId") UUID assignedId,
+                           @Param("now") LocalDateTime now);
+
+    @Query("SELECT COUNT(w) FROM SeatWaitlistEntry w WHERE w.seatId = :seatId AND w.status = 'WAITING'")
+    long countWaiting(@Param("seatId") UUID seatId);
+
+    @Query("SELECT COUNT(w) FROM SeatWaitlistEntry w WHERE w.seatId = :seatId AND w.status = 'WAITING' " +
+           "AND w.createdAt < :createdAt")
+    long countWaitingBefore(@Param("seatId") UUID seatId, @Param("createdAt") LocalDateTime createdAt);
+}
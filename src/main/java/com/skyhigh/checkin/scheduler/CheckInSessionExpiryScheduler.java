@@ -1,18 +1,30 @@
 package com.skyhigh.checkin.scheduler;
 
-import com.skyhigh.checkin.model.entity.CheckIn;
-import com.skyhigh.checkin.model.enums.CheckInStatus;
+import com.skyhigh.checkin.config.CheckInConfig;
+import com.skyhigh.checkin.lock.LockRelease;
+import com.skyhigh.checkin.model.enums.SeatStatus;
 import com.skyhigh.checkin.repository.CheckInRepository;
+import com.skyhigh.checkin.repository.CheckInRepository.ExpiredSession;
 import com.skyhigh.checkin.service.SeatLockService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
+/**
+ * Expires inactive check-in sessions in keyset-paginated batches. Each batch is one projection query,
+ * one bulk UPDATE ... RETURNING and one lock release round trip; no check-in entities are loaded.
+ * Each batch commits in its own transaction, and its seat locks are released only once it has committed.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -20,47 +32,77 @@ public class CheckInSessionExpiryScheduler {
 
     private final CheckInRepository checkInRepository;
     private final SeatLockService seatLockService;
+    private final CheckInConfig checkInConfig;
+    private final JobCoordinator jobCoordinator;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final String JOB = "checkin-session-expiry";
+    private static final Duration LEASE = Duration.ofSeconds(90);
+
+    // Lowest UUID in database order, so the first page starts at the beginning
+    private static final UUID FIRST_PAGE = new UUID(0, 0);
 
     /**
-     * Runs every minute to expire inactive check-in sessions.
+     * Runs every minute to expire inactive check-in sessions. Only the job's leader runs it,
+     * and only while {@code skyhigh.checkin.expiry-sweeps-enabled} is set.
      */
     @Scheduled(fixedRate = 60000) // 1 minute
-    @Transactional
     public void expireInactiveSessions() {
-        LocalDateTime now = LocalDateTime.now();
-        List<CheckIn> expiredSessions = checkInRepository.findExpiredSessions(now);
-
-        if (expiredSessions.isEmpty()) {
+        if (!checkInConfig.isExpirySweepsEnabled() || !jobCoordinator.acquireLeadership(JOB, LEASE)) {
             return;
         }
 
-        log.info("Found {} expired check-in sessions", expiredSessions.size());
+        try {
+            expireAll();
+        } finally {
+            jobCoordinator.releaseLeadership(JOB);
+        }
+    }
+
+    private void expireAll() {
+        LocalDateTime now = LocalDateTime.now();
+        Limit batchSize = Limit.of(checkInConfig.getSessionExpiryBatchSize());
+
+        int expired = 0;
+        UUID afterId = FIRST_PAGE;
+        List<ExpiredSession> batch;
+        do {
+            batch = checkInRepository.findExpiredSessionsAfter(now, afterId, batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
 
-        for (CheckIn checkIn : expiredSessions) {
             try {
-                expireSession(checkIn);
+                expired += expireBatch(batch, now);
             } catch (Exception e) {
-                log.error("Error expiring check-in session {}: {}", checkIn.getId(), e.getMessage());
+                log.error("Error expiring {} check-in sessions: {}", batch.size(), e.getMessage());
             }
+            afterId = batch.get(batch.size() - 1).getId();
+        } while (batch.size() == batchSize.max());
+
+        if (expired > 0) {
+            log.info("Expired {} check-in sessions", expired);
         }
     }
 
-    private void expireSession(CheckIn checkIn) {
-        // Release held seat if any
-        if (checkIn.getSeat() != null && checkIn.getSeat().isHeld()) {
-            seatLockService.forceReleaseLock(
-                    checkIn.getBooking().getFlight().getId(),
-                    checkIn.getSeat().getSeatNumber()
-            );
-
-            // The seat will be released by SeatHoldExpiryScheduler
+    private int expireBatch(List<ExpiredSession> batch, LocalDateTime now) {
+        List<UUID> expiredIds = transactionTemplate.execute(status ->
+                checkInRepository.expireSessions(batch.stream().map(ExpiredSession::getId).toList(), now));
+        if (expiredIds == null || expiredIds.isEmpty()) {
+            return 0;
         }
 
-        checkIn.setStatus(CheckInStatus.EXPIRED);
-        checkInRepository.save(checkIn);
+        // Release the held seat locks of the sessions actually expired, after the commit; sessions that saw
+        // activity since they were read keep theirs. The seats themselves are released when their holds expire
+        Set<UUID> expired = new HashSet<>(expiredIds);
+        List<ExpiredSession> sessions = batch.stream().filter(session -> expired.contains(session.getId())).toList();
+        seatLockService.releaseLocks(sessions.stream()
+                .filter(session -> session.getSeatStatus() == SeatStatus.HELD && session.getHeldByPassengerId() != null)
+                .map(session -> new LockRelease(session.getFlightId(), session.getSeatNumber(), session.getHeldByPassengerId()))
+                .toList());
 
-        log.info("Expired check-in session: {} for booking {}",
-                checkIn.getId(), checkIn.getBooking().getBookingReference());
+        log.debug("Expired check-in sessions for bookings {}",
+                sessions.stream().map(ExpiredSession::getBookingReference).toList());
+        return sessions.size();
     }
 }
-
@@ -0,0 +1,145 @@
+package com.skyhigh.checkin.scheduler;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timing wheel: a ring of buckets, one per tick, holding keys that are due in that tick.
+ * Scheduling and cancelling are O(1) and may be called from any thread; {@link #advance(long)} is
+ * driven by a single thread and only visits the buckets of the ticks that have elapsed, so the cost
+ * of a tick depends on what is due in it rather than on how many keys are scheduled.
+ * Deadlines further away than one rotation stay in their bucket for the remaining rotations.
+ * Scheduling a key again replaces its previous deadline.
+ *
+ * @param <K> The key type
+ */
+public class HashedTimingWheel<K> {
+
+    private final long tickNanos;
+    private final int mask;
+    private final List<Timeout<K>>[] buckets;
+    private final long startNanos;
+
+    // Written by any thread, drained into the buckets by the advancing thread
+    private final Queue<Timeout<K>> pending = new ConcurrentLinkedQueue<>();
+    private final Map<K, Timeout<K>> active = new ConcurrentHashMap<>();
+
+    // Next tick to process; only touched by the advancing thread
+    private long tick;
+
+    private static final class Timeout<K> {
+        private final K key;
+        private final long deadlineNanos;
+        private long remainingRounds;
+
+        private Timeout(K key, long deadlineNanos) {
+            this.key = key;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+
+    /**
+     * @param tickNanos  The length of one tick; keys expire at most one tick after their deadline
+     * @param wheelSize  The number of buckets, rounded up to a power of two
+     * @param startNanos The {@link System#nanoTime()} of tick 0
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickNanos, int wheelSize, long startNanos) {
+        if (tickNanos <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick length and wheel size must be positive");
+        }
+
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickNanos = tickNanos;
+        this.mask = size - 1;
+        this.buckets = new List[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Schedules a key to expire at a deadline, replacing any deadline it already had.
+     *
+     * @param key           The key
+     * @param deadlineNanos The deadline as a {@link System#nanoTime()} value
+     */
+    public void schedule(K key, long deadlineNanos) {
+        Timeout<K> timeout = new Timeout<>(key, deadlineNanos);
+        active.put(key, timeout);
+        pending.add(timeout);
+    }
+
+    /**
+     * Cancels a key's deadline. Cancelled entries are dropped when their bucket is next visited.
+     *
+     * @param key The key
+     * @return true if the key was scheduled
+     */
+    public boolean cancel(K key) {
+        return active.remove(key) != null;
+    }
+
+    /**
+     * Processes every tick up to the given time and returns the keys that expired.
+     * Must only be called by one thread at a time.
+     *
+     * @param nowNanos The current {@link System#nanoTime()}
+     * @return The expired keys, in deadline order by tick
+     */
+    public List<K> advance(long nowNanos) {
+        long targetTick = Math.floorDiv(nowNanos - startNanos, tickNanos);
+        transferPending();
+
+        List<K> expired = new ArrayList<>();
+        for (; tick <= targetTick; tick++) {
+            expireBucket(buckets[(int) (tick & mask)], expired);
+        }
+        return expired;
+    }
+
+    /**
+     * @return The number of keys currently scheduled
+     */
+    public int size() {
+        return active.size();
+    }
+
+    private void transferPending() {
+        Timeout<K> timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (active.get(timeout.key) != timeout) {
+                continue;
+            }
+
+            // First tick that starts at or after the deadline; overdue keys go into the next tick processed
+            long dueTick = Math.max(tick, -Math.floorDiv(startNanos - timeout.deadlineNanos, tickNanos));
+            timeout.remainingRounds = (dueTick - tick) / buckets.length;
+            buckets[(int) (dueTick & mask)].add(timeout);
+        }
+    }
+
+    private void expireBucket(List<Timeout<K>> bucket, List<K> expired) {
+        Iterator<Timeout<K>> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout<K> timeout = iterator.next();
+            if (active.get(timeout.key) != timeout) {
+                // Cancelled or rescheduled
+                iterator.remove();
+            } else if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+            } else {
+                iterator.remove();
+                if (active.remove(timeout.key, timeout)) {
+                    expired.add(timeout.key);
+                }
+            }
+        }
+    }
+}
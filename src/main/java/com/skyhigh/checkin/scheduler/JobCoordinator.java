@@ -0,0 +1,29 @@
+package com.skyhigh.checkin.scheduler;
+
+import java.time.Duration;
+
+/**
+ * Decides which node runs a cluster-wide scheduled job, selected with
+ * {@code skyhigh.checkin.scheduler-coordination} ({@code redis}, {@code postgres} or {@code none}).
+ * Jobs ask before every run, so leadership moves to another node when the leader stops renewing it.
+ */
+public interface JobCoordinator {
+
+    /**
+     * Claims or renews this node's leadership of a job.
+     *
+     * @param job   The job name
+     * @param lease How long the leadership lasts without being renewed; longer than the job's interval
+     * @return true if this node should run the job now
+     */
+    boolean acquireLeadership(String job, Duration lease);
+
+    /**
+     * Called when a run that was granted leadership ends, whether or not it succeeded.
+     * Coordinators whose leadership only lasts for a run release it here; lease-based ones keep it.
+     *
+     * @param job The job name
+     */
+    default void releaseLeadership(String job) {
+    }
+}
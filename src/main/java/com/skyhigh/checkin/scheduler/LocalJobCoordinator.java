@@ -0,0 +1,19 @@
+package com.skyhigh.checkin.scheduler;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * No coordination: every node runs every job. For single-node and test deployments.
+ */
+@Component
+@ConditionalOnProperty(prefix = "skyhigh.checkin", name = "scheduler-coordination", havingValue = "none")
+public class LocalJobCoordinator implements JobCoordinator {
+
+    @Override
+    public boolean acquireLeadership(String job, Duration lease) {
+        return true;
+    }
+}
@@ -0,0 +1,122 @@
+package com.skyhigh.checkin.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Job leadership as a lease row per job in {@code scheduler_leases}, for deployments without Redis.
+ * As with the Redis lease, the first node to claim a job's row leads it and keeps it while it renews
+ * the lease every run, so each interval runs on one node; when the leader stops, its lease runs out
+ * and the next node to ask takes over.
+ * A run also holds a session-level advisory lock on a connection of its own, so a run that outlasts
+ * its lease never overlaps the new leader's; the lock is unlocked by {@link #releaseLeadership(String)},
+ * or by Postgres when the node dies mid-run.
+ */
+@Component
+@ConditionalOnProperty(prefix = "skyhigh.checkin", name = "scheduler-coordination", havingValue = "postgres")
+@RequiredArgsConstructor
+@Slf4j
+public class PostgresJobCoordinator implements JobCoordinator {
+
+    // Puts job locks in their own key range, away from hashed seat lock keys
+    private static final long JOB_LOCK_NAMESPACE = 0x5C4EDL << 32;
+
+    // Claims the lease if it is free, expired or already ours; returns a row only if it was claimed
+    private static final String CLAIM_LEASE = "INSERT INTO scheduler_leases (job, holder, lease_until) " +
+            "VALUES (?, ?, LOCALTIMESTAMP + CAST(? AS BIGINT) * INTERVAL '1 millisecond') " +
+            "ON CONFLICT (job) DO UPDATE SET holder = EXCLUDED.holder, lease_until = EXCLUDED.lease_until " +
+            "WHERE scheduler_leases.holder = EXCLUDED.holder OR scheduler_leases.lease_until < LOCALTIMESTAMP " +
+            "RETURNING holder";
+
+    private final DataSource dataSource;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // Connections holding the lock of each job this node is running
+    private final Map<String, Connection> lockConnections = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean acquireLeadership(String job, Duration lease) {
+        if (lockConnections.containsKey(job)) {
+            return true;
+        }
+
+        Connection connection = null;
+        try {
+            // Taken straight from the pool, outside any Spring-managed transaction
+            connection = dataSource.getConnection();
+            connection.setAutoCommit(true);
+            if (claimLease(connection, job, lease) && callLockFunction(connection, "SELECT pg_try_advisory_lock(?)", job)) {
+                lockConnections.put(job, connection);
+                return true;
+            }
+            connection.close();
+            return false;
+        } catch (SQLException e) {
+            log.warn("Could not claim leadership of job {}, skipping it on this node: {}", job, e.getMessage());
+            discard(connection);
+            return false;
+        }
+    }
+
+    @Override
+    public void releaseLeadership(String job) {
+        Connection connection = lockConnections.remove(job);
+        if (connection == null) {
+            return;
+        }
+
+        try {
+            callLockFunction(connection, "SELECT pg_advisory_unlock(?)", job);
+            connection.close();
+        } catch (SQLException e) {
+            // Never hand a connection that may still hold the lock back to the pool
+            log.warn("Could not release leadership of job {}, dropping its connection: {}", job, e.getMessage());
+            discard(connection);
+        }
+    }
+
+    private boolean claimLease(Connection connection, String job, Duration lease) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(CLAIM_LEASE)) {
+            statement.setString(1, job);
+            statement.setString(2, nodeId);
+            statement.setLong(3, lease.toMillis());
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next();
+            }
+        }
+    }
+
+    private boolean callLockFunction(Connection connection, String sql, String job) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, JOB_LOCK_NAMESPACE | (job.hashCode() & 0xFFFFFFFFL));
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+
+    private void discard(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            // Ends the session, and with it any advisory lock it holds
+            connection.abort(Runnable::run);
+        } catch (SQLException e) {
+            log.warn("Could not abort job lock connection: {}", e.getMessage());
+        }
+    }
+}
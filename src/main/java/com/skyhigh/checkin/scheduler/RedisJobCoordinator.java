@@ -0,0 +1,55 @@
+package com.skyhigh.checkin.scheduler;
+
+import com.skyhigh.checkin.cache.RedisGuard;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Job leadership as a Redis lease per job: the first node to claim the key runs the job and keeps
+ * the lease while it renews it every run. When the leader stops or leaves, its lease runs out and the
+ * next node to ask takes over. The default coordinator.
+ * If Redis cannot be reached no node runs the job until it can be reached again: jobs are only ever
+ * run by a node that knows it leads them.
+ */
+@Component
+@ConditionalOnProperty(prefix = "skyhigh.checkin", name = "scheduler-coordination", havingValue = "redis", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class RedisJobCoordinator implements JobCoordinator {
+
+    private static final String LEADER_PREFIX = "scheduler:leader:";
+
+    // Acquire-or-extend like a seat lock, with the node as holder and no fencing token
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ACQUIRE_OR_EXTEND_LEASE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/acquire-or-extend-lease.lua"), List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisGuard redisGuard;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Override
+    public boolean acquireLeadership(String job, Duration lease) {
+        try {
+            List<?> result = redisGuard.execute(() -> redisTemplate.execute(ACQUIRE_OR_EXTEND_LEASE_SCRIPT,
+                    List.of(LEADER_PREFIX + job), nodeId, Long.toString(lease.toMillis())));
+            boolean leader = nodeId.equals(result.get(0).toString());
+            log.debug("Job {} leader is {}{}", job, result.get(0), leader ? " (this node)" : "");
+            return leader;
+        } catch (Exception e) {
+            log.warn("Cannot coordinate job {}, skipping it on this node: {}", job, e.getMessage());
+            redisGuard.recordFallback("jobLeadership");
+            return false;
+        }
+    }
+}
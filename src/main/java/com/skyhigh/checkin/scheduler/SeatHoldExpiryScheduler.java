@@ -1,20 +1,40 @@
 package com.skyhigh.checkin.scheduler;
 
-import com.skyhigh.checkin.model.entity.Seat;
+import com.skyhigh.checkin.config.CheckInConfig;
+import com.skyhigh.checkin.event.SeatStatusChangedEvent;
+import com.skyhigh.checkin.lock.LockRelease;
 import com.skyhigh.checkin.model.entity.SeatAuditLog;
 import com.skyhigh.checkin.model.enums.SeatStatus;
 import com.skyhigh.checkin.repository.SeatAuditLogRepository;
 import com.skyhigh.checkin.repository.SeatRepository;
+import com.skyhigh.checkin.repository.SeatRepository.HoldDeadline;
+import com.skyhigh.checkin.repository.SeatRepository.ReleasedHold;
 import com.skyhigh.checkin.service.SeatLockService;
+import com.skyhigh.checkin.service.SeatWaitlistService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+/**
+ * Releases expired seat holds with set-based statements: each batch is one UPDATE ... RETURNING,
+ * one batched audit insert and one lock release round trip, whatever the number of seats.
+ * Released seats with a waitlist are then handed to their next waiting passenger.
+ * Each batch commits in its own transaction; the released holders' seat locks are dropped only after it commits.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -23,56 +43,131 @@ public class SeatHoldExpiryScheduler {
     private final SeatRepository seatRepository;
     private final SeatAuditLogRepository auditLogRepository;
     private final SeatLockService seatLockService;
+    private final SeatWaitlistService seatWaitlistService;
+    private final CheckInConfig checkInConfig;
+    private final JobCoordinator jobCoordinator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final String JOB = "seat-hold-expiry";
+    private static final Duration LEASE = Duration.ofSeconds(90);
 
     /**
-     * Runs every 10 seconds to release expired seat holds.
-     * This is a backup mechanism - Redis TTL should handle most expirations.
+     * Runs every minute to release expired seat holds that were not expired by a {@link SeatHoldExpiryWheel},
+     * such as holds taken on a node that has since stopped.
+     * This is a safety net - the wheel and Redis TTLs handle almost all expirations.
+     * Only the job's leader runs the sweep, and only while {@code skyhigh.checkin.expiry-sweeps-enabled} is set.
      */
-    @Scheduled(fixedRate = 10000) // 10 seconds
-    @Transactional
+    @Scheduled(fixedRate = 60000) // 1 minute
     public void releaseExpiredSeatHolds() {
+        if (!checkInConfig.isExpirySweepsEnabled() || !jobCoordinator.acquireLeadership(JOB, LEASE)) {
+            return;
+        }
+
+        try {
+            releaseAllExpiredHolds();
+        } finally {
+            jobCoordinator.releaseLeadership(JOB);
+        }
+    }
+
+    private void releaseAllExpiredHolds() {
         LocalDateTime now = LocalDateTime.now();
-        List<Seat> expiredSeats = seatRepository.findExpiredHolds(now);
+        int batchSize = checkInConfig.getSeatHoldExpiryBatchSize();
 
-        if (expiredSeats.isEmpty()) {
-            return;
+        int released = 0;
+        List<ReleasedHold> batch;
+        do {
+            batch = releaseInTransaction(() -> seatRepository.releaseExpiredHolds(now, batchSize));
+            released += batch.size();
+        } while (batch.size() == batchSize);
+
+        if (released > 0) {
+            log.info("Released {} expired seat holds", released);
         }
+    }
 
-        log.info("Found {} expired seat holds to release", expiredSeats.size());
+    /**
+     * Releases the given seats whose holds have expired. Seats that were released, confirmed or
+     * held again in the meantime are left alone.
+     *
+     * @param seatIds The seats whose holds came due
+     * @return When the holds of the seats that are still held expire: holds extended in the meantime,
+     *         and expired holds whose row was locked by a concurrent claim and skipped
+     */
+    public Map<UUID, LocalDateTime> releaseExpiredSeatHolds(Collection<UUID> seatIds) {
+        List<ReleasedHold> released =
+                releaseInTransaction(() -> seatRepository.releaseExpiredHolds(seatIds, LocalDateTime.now()));
+        log.debug("Released {} of {} due seat holds", released.size(), seatIds.size());
+        if (released.size() == seatIds.size()) {
+            return Map.of();
+        }
+
+        Set<UUID> remaining = new HashSet<>(seatIds);
+        released.forEach(hold -> remaining.remove(hold.getId()));
+        return seatRepository.findHoldDeadlines(remaining).stream()
+                .filter(hold -> hold.getHeldUntil() != null)
+                .collect(Collectors.toMap(HoldDeadline::getId, HoldDeadline::getHeldUntil));
+    }
 
-        for (Seat seat : expiredSeats) {
-            try {
-                releaseSeat(seat);
-            } catch (Exception e) {
-                log.error("Error releasing seat hold for seat {}: {}", seat.getId(), e.getMessage());
-            }
+    /**
+     * Releases a seat whose lock just expired in Redis, if its hold has expired in the database as well.
+     *
+     * @param flightId   The flight ID
+     * @param seatNumber The seat number
+     * @return true if the seat was released
+     */
+    public boolean releaseExpiredSeatHold(UUID flightId, String seatNumber) {
+        List<ReleasedHold> released =
+                releaseInTransaction(() -> seatRepository.releaseExpiredHold(flightId, seatNumber, LocalDateTime.now()));
+        return !released.isEmpty();
+    }
+
+    /**
+     * Releases holds and records the releases in one transaction, then drops the released holders'
+     * seat locks once it has committed, so a rolled-back release leaves its locks in place.
+     */
+    private List<ReleasedHold> releaseInTransaction(Supplier<List<ReleasedHold>> release) {
+        List<ReleasedHold> released = transactionTemplate.execute(status -> {
+            List<ReleasedHold> holds = release.get();
+            recordReleases(holds);
+            return holds;
+        });
+        if (released == null || released.isEmpty()) {
+            return List.of();
         }
+
+        // Release Redis locks that still belong to the expired holders, leaving any re-acquired ones alone
+        seatLockService.releaseLocks(released.stream()
+                .filter(hold -> hold.getHeldByPassengerId() != null)
+                .map(hold -> new LockRelease(hold.getFlightId(), hold.getSeatNumber(), hold.getHeldByPassengerId()))
+                .toList());
+        return released;
     }
 
-    private void releaseSeat(Seat seat) {
-        String previousStatus = seat.getStatus().name();
-
-        // Release Redis lock if exists
-        seatLockService.forceReleaseLock(seat.getFlight().getId(), seat.getSeatNumber());
-
-        // Update database
-        seat.setStatus(SeatStatus.AVAILABLE);
-        seat.setHeldByPassenger(null);
-        seat.setHeldUntil(null);
-        seatRepository.save(seat);
-
-        // Audit log
-        SeatAuditLog auditLog = SeatAuditLog.builder()
-                .seatId(seat.getId())
-                .flightId(seat.getFlight().getId())
-                .seatNumber(seat.getSeatNumber())
-                .previousStatus(previousStatus)
-                .newStatus("AVAILABLE")
-                .changeReason("Seat hold expired (scheduler)")
-                .build();
-        auditLogRepository.save(auditLog);
-
-        log.info("Released expired seat hold: {} on flight {}", seat.getSeatNumber(), seat.getFlight().getFlightNumber());
+    private void recordReleases(List<ReleasedHold> released) {
+        if (released.isEmpty()) {
+            return;
+        }
+
+        // Written as batched inserts
+        auditLogRepository.saveAll(released.stream()
+                .map(hold -> SeatAuditLog.builder()
+                        .seatId(hold.getId())
+                        .flightId(hold.getFlightId())
+                        .seatNumber(hold.getSeatNumber())
+                        .previousStatus(SeatStatus.HELD.name())
+                        .newStatus(SeatStatus.AVAILABLE.name())
+                        .changeReason("Seat hold expired (scheduler)")
+                        .build())
+                .toList());
+
+        for (ReleasedHold hold : released) {
+            eventPublisher.publishEvent(new SeatStatusChangedEvent(
+                    hold.getFlightId(), hold.getId(), hold.getSeatNumber(), SeatStatus.HELD, SeatStatus.AVAILABLE));
+        }
+
+        // Within the releasing transaction, so a waiting passenger gets the seat before anyone else sees it free
+        seatWaitlistService.handOver(released);
     }
 }
-
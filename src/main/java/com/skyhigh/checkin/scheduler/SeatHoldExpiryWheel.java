@@ -0,0 +1,109 @@
+package com.skyhigh.checkin.scheduler;
+
+import com.skyhigh.checkin.config.CheckInConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expires seat holds close to their deadline without scanning the seats table.
+ * Every hold taken on this node is registered with its {@code heldUntil}; releases and confirmations
+ * cancel it. Both take effect only once the caller's transaction commits, so a rolled back hold is
+ * never scheduled and a rolled back release never drops the expiry of a hold that still stands. Each tick hands the holds that came due to {@link SeatHoldExpiryScheduler}, which only
+ * releases seats whose hold has actually expired in the database, so a stale entry is harmless.
+ * Seats still held after that - holds extended elsewhere, or rows skipped while another transaction
+ * had them locked - are scheduled again for their current deadline, no sooner than a retry delay.
+ * Holds taken on a node that went away are left to the scheduler's periodic scan.
+ */
+@Component
+@Slf4j
+public class SeatHoldExpiryWheel {
+
+    // How long a hold that could not be released waits before it is tried again
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+    private final SeatHoldExpiryScheduler seatHoldExpiryScheduler;
+    private final HashedTimingWheel<UUID> wheel;
+
+    public SeatHoldExpiryWheel(CheckInConfig checkInConfig,
+                               SeatHoldExpiryScheduler seatHoldExpiryScheduler,
+                               MeterRegistry meterRegistry) {
+        this.seatHoldExpiryScheduler = seatHoldExpiryScheduler;
+        this.wheel = new HashedTimingWheel<>(
+                TimeUnit.MILLISECONDS.toNanos(checkInConfig.getSeatHoldWheelTickMillis()),
+                checkInConfig.getSeatHoldWheelSize(),
+                System.nanoTime());
+
+        Gauge.builder("skyhigh.seat.holds.scheduled", wheel, HashedTimingWheel::size)
+                .description("Seat holds waiting for expiry on this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers a seat hold's expiry, replacing any earlier deadline for the seat.
+     * Within a transaction, the hold is registered after it commits.
+     *
+     * @param seatId    The seat ID
+     * @param heldUntil When the hold expires
+     */
+    public void schedule(UUID seatId, LocalDateTime heldUntil) {
+        afterCommit(() -> {
+            long delayNanos = Duration.between(LocalDateTime.now(), heldUntil).toNanos();
+            wheel.schedule(seatId, System.nanoTime() + delayNanos);
+        });
+    }
+
+    /**
+     * Cancels a seat hold's expiry after the hold was released or confirmed.
+     * Within a transaction, the expiry is cancelled after it commits.
+     *
+     * @param seatId The seat ID
+     */
+    public void cancel(UUID seatId) {
+        afterCommit(() -> wheel.cancel(seatId));
+    }
+
+    @Scheduled(fixedRateString = "${skyhigh.checkin.seat-hold-wheel-tick-millis:250}")
+    public void tick() {
+        List<UUID> due = wheel.advance(System.nanoTime());
+        if (due.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime retryAt = LocalDateTime.now().plus(RETRY_DELAY);
+        try {
+            Map<UUID, LocalDateTime> stillHeld = seatHoldExpiryScheduler.releaseExpiredSeatHolds(due);
+            stillHeld.forEach((seatId, heldUntil) -> schedule(seatId, heldUntil.isAfter(retryAt) ? heldUntil : retryAt));
+            if (!stillHeld.isEmpty()) {
+                log.debug("Rescheduled {} of {} due seat holds that are still held", stillHeld.size(), due.size());
+            }
+        } catch (Exception e) {
+            log.error("Error releasing {} expired seat holds, retrying: {}", due.size(), e.getMessage());
+            due.forEach(seatId -> schedule(seatId, retryAt));
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package com.skyhigh.checkin.scheduler;
+
+import com.skyhigh.checkin.config.CheckInConfig;
+import com.skyhigh.checkin.model.entity.Flight;
+import com.skyhigh.checkin.model.enums.FlightStatus;
+import com.skyhigh.checkin.repository.FlightRepository;
+import com.skyhigh.checkin.service.FlightService;
+import com.skyhigh.checkin.service.SeatService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SeatMapWarmupScheduler {
+
+    static final String COVERAGE_METRIC = "skyhigh.seatmap.warmup.coverage";
+    static final String FLIGHTS_METRIC = "skyhigh.seatmap.warmup.flights";
+
+    private final FlightRepository flightRepository;
+    private final SeatService seatService;
+    private final FlightService flightService;
+    private final CheckInConfig checkInConfig;
+    private final MeterRegistry meterRegistry;
+
+    private volatile double coverage = 1.0;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder(COVERAGE_METRIC, this, scheduler -> scheduler.coverage)
+                .description("Share of flights opening for check-in soon whose seat data was warmed on the last run")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs every minute to build the seat state index, seat map cache entry and seat summary
+     * of flights whose check-in window opens within {@code seat-map-warmup-lead-minutes},
+     * so the first wave of passengers does not miss the caches all at once.
+     * Flights stay in range for several runs, which keeps them warm until the window opens.
+     */
+    @Scheduled(fixedRate = 60000) // 1 minute
+    public void warmUpcomingFlights() {
+        LocalDateTime opensFrom = LocalDateTime.now().plusHours(checkInConfig.getCheckinWindowOpensHours());
+        List<Flight> flights = flightRepository.findFlightsByDepartureTimeAndStatus(
+                opensFrom, opensFrom.plusMinutes(checkInConfig.getSeatMapWarmupLeadMinutes()), FlightStatus.SCHEDULED);
+
+        if (flights.isEmpty()) {
+            coverage = 1.0;
+            return;
+        }
+
+        int warmed = 0;
+        for (Flight flight : flights) {
+            try {
+                seatService.getSeatMap(flight.getId());
+                flightService.getFlightById(flight.getId());
+                warmed++;
+                meterRegistry.counter(FLIGHTS_METRIC, "result", "warmed").increment();
+            } catch (Exception e) {
+                meterRegistry.counter(FLIGHTS_METRIC, "result", "failed").increment();
+                log.error("Error warming seat map for flight {}: {}", flight.getId(), e.getMessage());
+            }
+        }
+
+        coverage = (double) warmed / flights.size();
+        log.debug("Warmed {} of {} flights opening for check-in", warmed, flights.size());
+    }
+}
@@ -1,14 +1,20 @@
 package com.skyhigh.checkin.service;
 
 import com.skyhigh.checkin.config.CheckInConfig;
+import com.skyhigh.checkin.dto.request.AutoAssignSeatsRequest;
 import com.skyhigh.checkin.dto.request.BaggageRequest;
+import com.skyhigh.checkin.dto.request.ConfirmCheckInRequest;
 import com.skyhigh.checkin.dto.request.PaymentRequest;
 import com.skyhigh.checkin.dto.request.StartCheckInRequest;
 import com.skyhigh.checkin.dto.response.CheckInResponse;
+import com.skyhigh.checkin.dto.response.SeatGroupHoldResponse;
+import com.skyhigh.checkin.dto.response.SeatHoldResponse;
 import com.skyhigh.checkin.exception.*;
 import com.skyhigh.checkin.model.entity.*;
 import com.skyhigh.checkin.model.enums.CheckInStatus;
 import com.skyhigh.checkin.model.enums.PaymentStatus;
+import com.skyhigh.checkin.model.enums.SeatClass;
+import com.skyhigh.checkin.model.enums.SeatPosition;
 import com.skyhigh.checkin.repository.BookingRepository;
 import com.skyhigh.checkin.repository.CheckInRepository;
 import com.skyhigh.checkin.security.PassengerPrincipal;
@@ -20,8 +26,13 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -157,8 +168,79 @@ public class CheckInService {
         return buildCheckInResponse(checkIn);
     }
 
+    /**
+     * Holds the best block of adjacent available seats in a cabin class for a group, one seat per
+     * check-in in the order given. Candidate blocks are tried best first, so a block taken between
+     * the search and the hold just moves on to the next one.
+     * Not transactional: each attempt is its own all-or-nothing {@link SeatService#holdSeatGroup}.
+     *
+     * @param request   The group's check-ins and the cabin class; all must be in progress
+     * @param principal The passenger making the request, who must be one of the group
+     * @return The held seats with their shared expiry
+     */
+    public SeatGroupHoldResponse autoAssignSeats(AutoAssignSeatsRequest request, PassengerPrincipal principal) {
+        List<UUID> checkInIds = request.getCheckInIds();
+        log.info("Auto-assigning {} adjacent {} seats for group of passenger {}",
+                checkInIds.size(), request.getSeatClass(), principal.getPassengerId());
+
+        if (new HashSet<>(checkInIds).size() < checkInIds.size()) {
+            throw new InvalidSeatStateException("Each check-in can only hold one seat");
+        }
+
+        List<CheckIn> checkIns = checkInRepository.findAllByIdWithDetails(checkInIds);
+        if (checkIns.size() < checkInIds.size()) {
+            Set<UUID> found = checkIns.stream().map(CheckIn::getId).collect(Collectors.toSet());
+            UUID missing = checkInIds.stream().filter(id -> !found.contains(id)).findFirst().orElseThrow();
+            throw new ResourceNotFoundException("Check-in", missing);
+        }
+
+        // The same checks as a passenger's own seat selection; group membership and the flight of
+        // every check-in are checked by the hold itself
+        CheckIn own = checkIns.stream()
+                .filter(checkIn -> checkIn.getBooking().getPassenger().getId().equals(principal.getPassengerId()))
+                .findFirst()
+                .orElseThrow(() -> new FlightAccessDeniedException(principal.getPassengerId(),
+                        checkIns.get(0).getBooking().getFlight().getId()));
+        UUID flightId = own.getBooking().getFlight().getId();
+        validateCheckInWindow(own.getBooking().getFlight());
+        for (CheckIn checkIn : checkIns) {
+            validateSessionNotExpired(checkIn);
+            if (!checkIn.isInProgress() && !checkIn.isWaitingPayment()) {
+                throw new InvalidSeatStateException("Check-in " + checkIn.getId() + " is not in progress");
+            }
+        }
+
+        List<SeatBlock> blocks = seatService.findSeatBlocks(flightId, request.getSeatClass(), checkInIds.size(),
+                checkInConfig.getSeatBlockCandidates());
+        for (SeatBlock block : blocks) {
+            Map<UUID, UUID> seatIdsByCheckInId = new LinkedHashMap<>();
+            for (int i = 0; i < checkInIds.size(); i++) {
+                seatIdsByCheckInId.put(checkInIds.get(i), block.seatIds().get(i));
+            }
+
+            try {
+                SeatGroupHoldResponse response = seatService.holdSeatGroup(seatIdsByCheckInId, principal.getPassengerId());
+                log.info("Auto-assigned seats {} on flight {}", block.seatNumbers(), flightId);
+                return response;
+            } catch (SeatGroupUnavailableException e) {
+                log.debug("Seat block {} on flight {} was taken, trying the next one", block.seatNumbers(), flightId);
+            }
+        }
+
+        throw new SeatGroupUnavailableException(flightId, request.getSeatClass(), checkInIds.size());
+    }
+
+    /**
+     * Completes a check-in. Without a selected seat, the best available seat for the passenger's
+     * preferences (or the configured defaults) is held and confirmed in the same transaction.
+     *
+     * @param checkInId The check-in ID
+     * @param request   Seat preferences used only when no seat is selected, may be null
+     * @param principal The passenger completing the check-in
+     * @return The completed check-in with its boarding pass
+     */
     @Transactional
-    public CheckInResponse confirmCheckIn(UUID checkInId, PassengerPrincipal principal) {
+    public CheckInResponse confirmCheckIn(UUID checkInId, ConfirmCheckInRequest request, PassengerPrincipal principal) {
         log.info("Confirming check-in {}", checkInId);
 
         CheckIn checkIn = getAndValidateCheckIn(checkInId, principal);
@@ -172,13 +254,21 @@ public class CheckInService {
             throw new PaymentRequiredException(checkIn.getExcessBaggageFee());
         }
 
-        // Validate seat is selected
-        if (checkIn.getSeat() == null) {
-            throw new InvalidSeatStateException("Please select a seat before confirming check-in");
+        // Assign a seat if none is selected
+        UUID seatId;
+        Long fencingToken;
+        if (checkIn.getSeat() != null) {
+            seatId = checkIn.getSeat().getId();
+            fencingToken = request != null ? request.getFencingToken() : null;
+        } else {
+            SeatHoldResponse assigned = seatService.holdBestSeat(checkIn.getBooking().getFlight().getId(),
+                    principal.getPassengerId(), seatPreferences(request));
+            seatId = assigned.getSeatId();
+            fencingToken = assigned.getFencingToken();
         }
 
         // Confirm the seat
-        Seat confirmedSeat = seatService.confirmSeat(checkIn.getSeat().getId(), principal.getPassengerId());
+        Seat confirmedSeat = seatService.confirmSeat(seatId, principal.getPassengerId(), fencingToken);
 
         // Complete the check-in
         checkIn.setSeat(confirmedSeat);
@@ -205,7 +295,7 @@ public class CheckInService {
 
         // Release held seat if any
         if (checkIn.getSeat() != null && checkIn.getSeat().isHeld()) {
-            seatService.releaseSeatHold(checkIn.getSeat().getId(), principal.getPassengerId());
+            seatService.releaseSeatHold(checkIn.getSeat().getId(), principal.getPassengerId(), null);
         }
 
         checkIn.setStatus(CheckInStatus.CANCELLED);
@@ -227,6 +317,15 @@ public class CheckInService {
         return checkIn;
     }
 
+    private SeatPreferences seatPreferences(ConfirmCheckInRequest request) {
+        SeatClass seatClass = request != null && request.getSeatClass() != null
+                ? request.getSeatClass() : checkInConfig.getAutoSeatClass();
+        SeatPosition position = request != null && request.getSeatPosition() != null
+                ? request.getSeatPosition() : checkInConfig.getAutoSeatPosition();
+        return new SeatPreferences(seatClass, position,
+                checkInConfig.isAutoSeatKeepMiddleFree(), checkInConfig.isAutoSeatFrontFirst());
+    }
+
     private void validateCheckInWindow(Flight flight) {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime checkInOpens = flight.getDepartureTime().minusHours(checkInConfig.getCheckinWindowOpensHours());
@@ -0,0 +1,444 @@
+package com.skyhigh.checkin.service;
+
+import com.skyhigh.checkin.dto.response.SeatMapResponse;
+import com.skyhigh.checkin.model.entity.Seat;
+import com.skyhigh.checkin.model.enums.SeatClass;
+import com.skyhigh.checkin.model.enums.SeatPosition;
+import com.skyhigh.checkin.model.enums.SeatStatus;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Compact in-memory seat state for a single flight.
+ * Seat attributes that never change (id, number, class) are stored in parallel arrays
+ * keyed by seat index; only the one-byte status and the per-class counters are mutated.
+ * The state is tagged with the flight seat version it reflects and keeps a bounded journal of the
+ * seats changed by the most recent versions, so that clients can fetch only what changed.
+ * <p>
+ * Seats are also grouped into rows per cabin class, each with a bitset of its available seats in
+ * seat letter order, so that blocks of adjacent available seats can be found without visiting seats.
+ */
+public class FlightSeatState {
+
+    private static final SeatStatus[] STATUSES = SeatStatus.values();
+    private static final SeatClass[] CLASSES = SeatClass.values();
+
+    private final UUID flightId;
+    private final String flightNumber;
+    private final UUID[] seatIds;
+    private final String[] seatNumbers;
+    private final SeatClass[] seatClasses;
+    private final byte[] statuses;
+    private final Map<UUID, Integer> indexBySeatId;
+    private final int[][] countsByClassAndStatus;
+    private final Row[][] rowsByClass;
+    private final Row[] rowBySeat;
+    private final int[] columnBySeat;
+    private final long loadedAtNanos;
+    private volatile long loadNanos;
+    private final int[] journal;
+    private int journalLength;
+    private volatile long version;
+
+    /**
+     * The seats of one row of a cabin class in seat letter order. Bit {@code c} of {@code available}
+     * is set while the seat in column {@code c} is available.
+     */
+    private static final class Row {
+        private final int number;
+        private final int[] seatIndexes;
+        private final int aisleColumn;
+        private long available;
+
+        private Row(int number, int[] seatIndexes, int aisleColumn) {
+            this.number = number;
+            this.seatIndexes = seatIndexes;
+            this.aisleColumn = aisleColumn;
+        }
+
+        private boolean splitsAisle(int start, int size) {
+            return start < aisleColumn && start + size > aisleColumn;
+        }
+
+        private SeatPosition positionOf(int column) {
+            if (column == 0 || column == seatIndexes.length - 1) {
+                return SeatPosition.WINDOW;
+            }
+            return column == aisleColumn - 1 || column == aisleColumn ? SeatPosition.AISLE : SeatPosition.MIDDLE;
+        }
+    }
+
+    private FlightSeatState(UUID flightId, String flightNumber, long version, int size, int journalCapacity) {
+        this.flightId = flightId;
+        this.flightNumber = flightNumber;
+        this.version = version;
+        this.seatIds = new UUID[size];
+        this.seatNumbers = new String[size];
+        this.seatClasses = new SeatClass[size];
+        this.statuses = new byte[size];
+        this.indexBySeatId = new HashMap<>(size * 2);
+        this.countsByClassAndStatus = new int[CLASSES.length][STATUSES.length];
+        this.rowsByClass = new Row[CLASSES.length][];
+        this.rowBySeat = new Row[size];
+        this.columnBySeat = new int[size];
+        this.loadedAtNanos = System.nanoTime();
+        this.journal = new int[journalCapacity];
+    }
+
+    /**
+     * Builds the state from seats ordered the way the seat map presents them.
+     *
+     * @param journalCapacity Number of most recent changes kept for delta seat maps
+     */
+    public static FlightSeatState of(UUID flightId, long version, List<Seat> seats, int journalCapacity) {
+        String flightNumber = seats.isEmpty() ? null : seats.get(0).getFlight().getFlightNumber();
+        FlightSeatState state = new FlightSeatState(flightId, flightNumber, version, seats.size(), journalCapacity);
+
+        for (int i = 0; i < seats.size(); i++) {
+            Seat seat = seats.get(i);
+            state.seatIds[i] = seat.getId();
+            state.seatNumbers[i] = seat.getSeatNumber();
+            state.seatClasses[i] = seat.getSeatClass();
+            state.statuses[i] = (byte) seat.getStatus().ordinal();
+            state.indexBySeatId.put(seat.getId(), i);
+            state.countsByClassAndStatus[seat.getSeatClass().ordinal()][seat.getStatus().ordinal()]++;
+        }
+        state.indexRows();
+        return state;
+    }
+
+    private void indexRows() {
+        List<TreeMap<Integer, List<Integer>>> seatsByClassAndRow = new ArrayList<>();
+        for (int c = 0; c < CLASSES.length; c++) {
+            seatsByClassAndRow.add(new TreeMap<>());
+        }
+        for (int i = 0; i < seatNumbers.length; i++) {
+            seatsByClassAndRow.get(seatClasses[i].ordinal())
+                    .computeIfAbsent(rowOf(seatNumbers[i]), row -> new ArrayList<>()).add(i);
+        }
+
+        for (int c = 0; c < CLASSES.length; c++) {
+            String lastLetterBeforeAisle = lastLetterBeforeAisle(seatsByClassAndRow.get(c).values());
+            List<Row> rows = new ArrayList<>();
+            for (Map.Entry<Integer, List<Integer>> entry : seatsByClassAndRow.get(c).entrySet()) {
+                List<Integer> seats = entry.getValue();
+                seats.sort(Comparator.comparing(i -> letterOf(seatNumbers[i])));
+                if (seats.size() > Long.SIZE) {
+                    // Not a layout the bitset can describe; such a row is never offered as a block
+                    continue;
+                }
+
+                int aisleColumn = (int) seats.stream()
+                        .filter(i -> letterOf(seatNumbers[i]).compareTo(lastLetterBeforeAisle) <= 0)
+                        .count();
+                Row row = new Row(entry.getKey(), seats.stream().mapToInt(Integer::intValue).toArray(), aisleColumn);
+                for (int column = 0; column < row.seatIndexes.length; column++) {
+                    int index = row.seatIndexes[column];
+                    rowBySeat[index] = row;
+                    columnBySeat[index] = column;
+                    if (statuses[index] == SeatStatus.AVAILABLE.ordinal()) {
+                        row.available |= 1L << column;
+                    }
+                }
+                rows.add(row);
+            }
+            rowsByClass[c] = rows.toArray(new Row[0]);
+        }
+    }
+
+    /**
+     * Finds the seat letter just before the aisle of a cabin from the letters its rows use: the aisle
+     * splits them in half (A B C | D E F, A C | D F), so rows with seats missing still line up.
+     * Cabins are taken to have a single aisle.
+     */
+    private String lastLetterBeforeAisle(Collection<List<Integer>> rows) {
+        TreeSet<String> letters = new TreeSet<>();
+        rows.forEach(seats -> seats.forEach(i -> letters.add(letterOf(seatNumbers[i]))));
+        return letters.isEmpty() ? "" : letters.stream().skip((letters.size() + 1) / 2 - 1).findFirst().orElseThrow();
+    }
+
+    /**
+     * Parses the row number of a seat number such as {@code 12C}.
+     *
+     * @return The row number, or 0 if the seat number does not start with one
+     */
+    static int rowOf(String seatNumber) {
+        int end = rowDigits(seatNumber);
+        return end > 0 ? Integer.parseInt(seatNumber.substring(0, end)) : 0;
+    }
+
+    private static String letterOf(String seatNumber) {
+        return seatNumber.substring(rowDigits(seatNumber));
+    }
+
+    private static int rowDigits(String seatNumber) {
+        int end = 0;
+        while (end < seatNumber.length() && Character.isDigit(seatNumber.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Applies the status transition that produced {@code newVersion}.
+     * Versions already reflected by this state are ignored.
+     *
+     * @return false if a version was skipped or the seat is not part of this flight
+     */
+    public synchronized boolean apply(UUID seatId, SeatStatus newStatus, long newVersion) {
+        if (newVersion <= version) {
+            return true;
+        }
+
+        Integer index = indexBySeatId.get(seatId);
+        if (newVersion != version + 1 || index == null) {
+            return false;
+        }
+
+        int previous = statuses[index];
+        int classOrdinal = seatClasses[index].ordinal();
+        countsByClassAndStatus[classOrdinal][previous]--;
+        countsByClassAndStatus[classOrdinal][newStatus.ordinal()]++;
+        statuses[index] = (byte) newStatus.ordinal();
+        version = newVersion;
+
+        Row row = rowBySeat[index];
+        if (row != null) {
+            long bit = 1L << columnBySeat[index];
+            row.available = newStatus == SeatStatus.AVAILABLE ? row.available | bit : row.available & ~bit;
+        }
+
+        // The journal slot for a version is its position modulo the capacity
+        if (journal.length > 0) {
+            journal[(int) (newVersion % journal.length)] = index;
+            journalLength = Math.min(journalLength + 1, journal.length);
+        }
+        return true;
+    }
+
+    /**
+     * Takes over the change journal of the state this one replaces, so that clients keep getting deltas
+     * across a reload. Only done when both reflect the same version and list the same seats in the same
+     * order; a reload at a newer version starts with an empty journal, and deltas reaching back before it
+     * fall back to the full seat map.
+     *
+     * @param previous The state being replaced
+     * @return true if the journal was carried over
+     */
+    synchronized boolean continueJournal(FlightSeatState previous) {
+        synchronized (previous) {
+            if (previous.version != version || previous.journal.length != journal.length
+                    || !Arrays.equals(previous.seatIds, seatIds)) {
+                return false;
+            }
+            System.arraycopy(previous.journal, 0, journal, 0, journal.length);
+            journalLength = previous.journalLength;
+            return true;
+        }
+    }
+
+    public UUID getFlightId() {
+        return flightId;
+    }
+
+    public String getFlightNumber() {
+        return flightNumber;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return seatIds.length;
+    }
+
+    /**
+     * Maps seat numbers to seat IDs in seat map order. Seats never change number or ID,
+     * so the result is the same for every version of a flight.
+     */
+    public Map<String, UUID> seatIdsByNumber() {
+        Map<String, UUID> seatIds = new LinkedHashMap<>(seatNumbers.length * 2);
+        for (int i = 0; i < seatNumbers.length; i++) {
+            seatIds.put(seatNumbers[i], this.seatIds[i]);
+        }
+        return seatIds;
+    }
+
+    public long ageNanos() {
+        return System.nanoTime() - loadedAtNanos;
+    }
+
+    /**
+     * How long it took to read the seats this state was built from.
+     */
+    public long getLoadNanos() {
+        return loadNanos;
+    }
+
+    void setLoadNanos(long loadNanos) {
+        this.loadNanos = loadNanos;
+    }
+
+    /**
+     * Snapshots the seat counts by class and status at the current version.
+     */
+    public synchronized FlightSeatSummary summary() {
+        int[][] counts = new int[CLASSES.length][];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = countsByClassAndStatus[i].clone();
+        }
+        return new FlightSeatSummary(version, counts);
+    }
+
+    /**
+     * Finds blocks of adjacent available seats in a cabin class, best first: blocks on one side of the
+     * aisle before blocks split by it, then nearest to the front, then lowest seat letter first.
+     * Each row is checked with {@code size} shifts of its availability bits, so the cost grows with
+     * the number of rows rather than the number of seats. Blocks in the same row may overlap.
+     *
+     * @param seatClass The cabin class
+     * @param size      The number of adjacent seats wanted
+     * @param limit     The maximum number of blocks to return
+     * @return The candidate blocks, best first
+     */
+    public synchronized List<SeatBlock> findSeatBlocks(SeatClass seatClass, int size, int limit) {
+        List<SeatBlock> blocks = new ArrayList<>();
+        if (size < 1 || size > Long.SIZE) {
+            return blocks;
+        }
+
+        for (boolean acrossAisle : new boolean[] {false, true}) {
+            for (Row row : rowsByClass[seatClass.ordinal()]) {
+                // Bit c is left set when columns c to c + size - 1 are all available
+                long starts = row.available;
+                for (int shift = 1; shift < size && starts != 0; shift++) {
+                    starts &= row.available >>> shift;
+                }
+
+                for (; starts != 0; starts &= starts - 1) {
+                    if (blocks.size() >= limit) {
+                        return blocks;
+                    }
+                    int start = Long.numberOfTrailingZeros(starts);
+                    if (row.splitsAisle(start, size) == acrossAisle) {
+                        blocks.add(toSeatBlock(seatClass, row, start, size));
+                    }
+                }
+            }
+        }
+        return blocks;
+    }
+
+    /**
+     * Ranks the available seats of a cabin class for automatic assignment: seats in the preferred
+     * position first, then (if middle seats are kept free) other non-middle seats, then the rest,
+     * each tier in row order and then seat letter order.
+     *
+     * @param preferences The seat preferences
+     * @param limit       The maximum number of seats to return
+     * @return The IDs of the best available seats, best first
+     */
+    public synchronized List<UUID> rankAvailableSeats(SeatPreferences preferences, int limit) {
+        List<List<UUID>> tiers = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        Row[] rows = rowsByClass[preferences.seatClass().ordinal()];
+        for (int r = 0; r < rows.length; r++) {
+            Row row = rows[preferences.frontFirst() ? r : rows.length - 1 - r];
+            for (long available = row.available; available != 0; available &= available - 1) {
+                int column = Long.numberOfTrailingZeros(available);
+                SeatPosition position = row.positionOf(column);
+                int tier = (preferences.position() == null || position == preferences.position() ? 0 : 2)
+                        + (preferences.keepMiddleFree() && position == SeatPosition.MIDDLE ? 1 : 0);
+                tiers.get(tier).add(seatIds[row.seatIndexes[column]]);
+            }
+        }
+
+        List<UUID> ranked = new ArrayList<>();
+        for (List<UUID> tier : tiers) {
+            for (UUID seatId : tier) {
+                if (ranked.size() >= limit) {
+                    return ranked;
+                }
+                ranked.add(seatId);
+            }
+        }
+        return ranked;
+    }
+
+    private SeatBlock toSeatBlock(SeatClass seatClass, Row row, int start, int size) {
+        List<UUID> ids = new ArrayList<>(size);
+        List<String> numbers = new ArrayList<>(size);
+        for (int column = start; column < start + size; column++) {
+            ids.add(seatIds[row.seatIndexes[column]]);
+            numbers.add(seatNumbers[row.seatIndexes[column]]);
+        }
+        return new SeatBlock(seatClass, row.number, ids, numbers, row.splitsAisle(start, size));
+    }
+
+    public synchronized SeatMapResponse toSeatMapResponse() {
+        int[] allSeats = new int[seatIds.length];
+        for (int i = 0; i < allSeats.length; i++) {
+            allSeats[i] = i;
+        }
+        return buildResponse(allSeats, null);
+    }
+
+    /**
+     * Builds a seat map holding only the seats changed after {@code sinceVersion}.
+     *
+     * @return The delta, or null if the journal no longer covers that version
+     */
+    public synchronized SeatMapResponse toSeatMapDelta(long sinceVersion) {
+        long missed = version - sinceVersion;
+        if (missed < 0 || missed > journalLength) {
+            return null;
+        }
+
+        BitSet changed = new BitSet(seatIds.length);
+        for (long v = sinceVersion + 1; v <= version; v++) {
+            changed.set(journal[(int) (v % journal.length)]);
+        }
+        return buildResponse(changed.stream().toArray(), sinceVersion);
+    }
+
+    private SeatMapResponse buildResponse(int[] seatIndexes, Long sinceVersion) {
+        Map<SeatClass, List<SeatMapResponse.SeatInfo>> seatsByClass = new LinkedHashMap<>();
+        for (int i : seatIndexes) {
+            SeatStatus status = STATUSES[statuses[i]];
+            seatsByClass.computeIfAbsent(seatClasses[i], c -> new ArrayList<>())
+                    .add(SeatMapResponse.SeatInfo.builder()
+                            .id(seatIds[i])
+                            .seatNumber(seatNumbers[i])
+                            .seatClass(seatClasses[i])
+                            .status(status)
+                            .available(status == SeatStatus.AVAILABLE)
+                            .build());
+        }
+
+        FlightSeatSummary summary = summary();
+        Map<SeatClass, Long> availableByClass = new LinkedHashMap<>();
+        for (SeatClass seatClass : CLASSES) {
+            long available = summary.count(seatClass, SeatStatus.AVAILABLE);
+            if (available > 0) {
+                availableByClass.put(seatClass, available);
+            }
+        }
+
+        return SeatMapResponse.builder()
+                .flightId(flightId)
+                .flightNumber(flightNumber)
+                .version(version)
+                .sinceVersion(sinceVersion)
+                .seatsByClass(seatsByClass)
+                .summary(SeatMapResponse.SeatSummary.builder()
+                        .total(seatIds.length)
+                        .available(summary.count(SeatStatus.AVAILABLE))
+                        .held(summary.count(SeatStatus.HELD))
+                        .confirmed(summary.count(SeatStatus.CONFIRMED))
+                        .availableByClass(availableByClass)
+                        .build())
+                .retrievedAt(LocalDateTime.now())
+                .build();
+    }
+}
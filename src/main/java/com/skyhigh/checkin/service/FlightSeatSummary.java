@@ -0,0 +1,61 @@
+package com.skyhigh.checkin.service;
+
+import com.skyhigh.checkin.model.enums.SeatClass;
+import com.skyhigh.checkin.model.enums.SeatStatus;
+import com.skyhigh.checkin.repository.SeatRepository;
+
+import java.util.List;
+
+/**
+ * Immutable seat counts of a flight by class and status, at a given flight seat version.
+ */
+public final class FlightSeatSummary {
+
+    private static final int STATUS_COUNT = SeatStatus.values().length;
+    private static final int CLASS_COUNT = SeatClass.values().length;
+
+    private final long version;
+    private final int[][] countsByClassAndStatus;
+
+    FlightSeatSummary(long version, int[][] countsByClassAndStatus) {
+        this.version = version;
+        this.countsByClassAndStatus = countsByClassAndStatus;
+    }
+
+    /**
+     * Builds a summary from the rows of {@link SeatRepository#countByFlightIdGroupByClassAndStatus}.
+     */
+    public static FlightSeatSummary of(long version, List<SeatRepository.SeatClassStatusCount> rows) {
+        int[][] counts = new int[CLASS_COUNT][STATUS_COUNT];
+        for (SeatRepository.SeatClassStatusCount row : rows) {
+            counts[row.getSeatClass().ordinal()][row.getStatus().ordinal()] += (int) row.getCount();
+        }
+        return new FlightSeatSummary(version, counts);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long count(SeatStatus status) {
+        long total = 0;
+        for (int[] byStatus : countsByClassAndStatus) {
+            total += byStatus[status.ordinal()];
+        }
+        return total;
+    }
+
+    public long count(SeatClass seatClass, SeatStatus status) {
+        return countsByClassAndStatus[seatClass.ordinal()][status.ordinal()];
+    }
+
+    public long total() {
+        long total = 0;
+        for (int[] byStatus : countsByClassAndStatus) {
+            for (int count : byStatus) {
+                total += count;
+            }
+        }
+        return total;
+    }
+}
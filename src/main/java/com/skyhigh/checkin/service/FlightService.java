@@ -13,6 +13,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.UUID;
 
 @Service
@@ -23,6 +24,8 @@ public class FlightService {
     private final FlightRepository flightRepository;
     private final SeatRepository seatRepository;
     private final CheckInConfig checkInConfig;
+    private final SeatStateIndex seatStateIndex;
+    private final SeatVersionService seatVersionService;
 
     @Transactional(readOnly = true)
     public FlightResponse getFlightById(UUID flightId) {
@@ -32,15 +35,36 @@ public class FlightService {
         return buildFlightResponse(flight);
     }
 
+    /**
+     * Computes the entity tag of a flight's details without building the response.
+     * It changes whenever the flight row is updated, a seat on the flight changes status,
+     * or the check-in window opens or closes.
+     *
+     * @param flightId The flight ID
+     * @return The quoted strong entity tag
+     */
+    @Transactional(readOnly = true)
+    public String getFlightETag(UUID flightId) {
+        Flight flight = flightRepository.findById(flightId)
+                .orElseThrow(() -> new ResourceNotFoundException("Flight", flightId));
+
+        LocalDateTime updatedAt = flight.getUpdatedAt();
+        long updatedAtMillis = updatedAt != null ? updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+        long seatVersion = seatVersionService.currentVersion(flightId);
+        boolean checkInOpen = isCheckInOpen(flight, LocalDateTime.now());
+
+        return "\"" + flightId + "-" + Long.toHexString(updatedAtMillis) + "-" + seatVersion
+                + (checkInOpen ? "-open" : "-closed") + "\"";
+    }
+
     private FlightResponse buildFlightResponse(Flight flight) {
-        LocalDateTime now = LocalDateTime.now();
         LocalDateTime checkInOpens = flight.getDepartureTime().minusHours(checkInConfig.getCheckinWindowOpensHours());
         LocalDateTime checkInCloses = flight.getDepartureTime().minusHours(checkInConfig.getCheckinWindowClosesHours());
-        boolean checkInOpen = now.isAfter(checkInOpens) && now.isBefore(checkInCloses);
+        boolean checkInOpen = isCheckInOpen(flight, LocalDateTime.now());
 
-        long available = seatRepository.countByFlightIdAndStatus(flight.getId(), SeatStatus.AVAILABLE);
-        long held = seatRepository.countByFlightIdAndStatus(flight.getId(), SeatStatus.HELD);
-        long confirmed = seatRepository.countByFlightIdAndStatus(flight.getId(), SeatStatus.CONFIRMED);
+        long seatVersion = seatVersionService.currentVersion(flight.getId());
+        FlightSeatSummary seatSummary = seatStateIndex.getOrLoadSummary(flight.getId(), seatVersion,
+                () -> FlightSeatSummary.of(seatVersion, seatRepository.countByFlightIdGroupByClassAndStatus(flight.getId())));
 
         return FlightResponse.builder()
                 .id(flight.getId())
@@ -57,11 +81,16 @@ public class FlightService {
                 .checkInOpensAt(checkInOpens)
                 .checkInClosesAt(checkInCloses)
                 .seatSummary(FlightResponse.SeatSummary.builder()
-                        .totalAvailable(available)
-                        .totalHeld(held)
-                        .totalConfirmed(confirmed)
+                        .totalAvailable(seatSummary.count(SeatStatus.AVAILABLE))
+                        .totalHeld(seatSummary.count(SeatStatus.HELD))
+                        .totalConfirmed(seatSummary.count(SeatStatus.CONFIRMED))
                         .build())
                 .build();
     }
-}
 
+    private boolean isCheckInOpen(Flight flight, LocalDateTime now) {
+        LocalDateTime checkInOpens = flight.getDepartureTime().minusHours(checkInConfig.getCheckinWindowOpensHours());
+        LocalDateTime checkInCloses = flight.getDepartureTime().minusHours(checkInConfig.getCheckinWindowClosesHours());
+        return now.isAfter(checkInOpens) && now.isBefore(checkInCloses);
+    }
+}
@@ -0,0 +1,19 @@
+package com.skyhigh.checkin.service;
+
+import com.skyhigh.checkin.model.enums.SeatClass;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Adjacent available seats in one row of a cabin class, listed from the lowest seat letter.
+ *
+ * @param seatClass   The cabin class
+ * @param row         The row number
+ * @param seatIds     The seat IDs, in seat letter order
+ * @param seatNumbers The seat numbers, in seat letter order
+ * @param acrossAisle Whether the block is split by the aisle
+ */
+public record SeatBlock(SeatClass seatClass, int row, List<UUID> seatIds, List<String> seatNumbers,
+                        boolean acrossAisle) {
+}
@@ -1,56 +1,78 @@
 package com.skyhigh.checkin.service;
 
+import com.skyhigh.checkin.lock.LockClaim;
+import com.skyhigh.checkin.lock.LockRelease;
+import com.skyhigh.checkin.lock.SeatLock;
+import com.skyhigh.checkin.lock.SeatLockBackend;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Seat locks on top of the configured {@link SeatLockBackend}.
+ * Backend failures are logged and reported as "unknown" rather than thrown; seat holds stay
+ * correct without a lock because the seat row is only ever changed with conditional updates.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SeatLockService {
 
-    private static final String SEAT_LOCK_PREFIX = "seat:lock:";
-
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final SeatLockBackend seatLockBackend;
 
     /**
-     * Attempts to acquire a distributed lock for a seat.
-     * Uses Redis SETNX (SET if Not eXists) with TTL.
+     * Acquires the lock for a seat, or extends it to the full TTL if the passenger already owns it,
+     * in a single round trip.
      *
      * @param flightId    The flight ID
      * @param seatNumber  The seat number
      * @param passengerId The passenger attempting to hold the seat
      * @param ttlSeconds  The time-to-live for the lock
-     * @return true if lock acquired, false if seat is already locked
+     * @return The lock owner, remaining TTL and fencing token after the call, or null if the lock backend
+     *         could not be reached
      */
-    public boolean acquireLock(UUID flightId, String seatNumber, UUID passengerId, int ttlSeconds) {
-        String lockKey = buildLockKey(flightId, seatNumber);
-        String lockValue = passengerId.toString();
-
+    public SeatLock acquireOrExtendLock(UUID flightId, String seatNumber, UUID passengerId, int ttlSeconds) {
         try {
-            Boolean success = redisTemplate.opsForValue()
-                    .setIfAbsent(lockKey, lockValue, Duration.ofSeconds(ttlSeconds));
+            SeatLock lock = seatLockBackend.acquireOrExtend(flightId, seatNumber, passengerId,
+                    TimeUnit.SECONDS.toMillis(ttlSeconds));
 
-            if (Boolean.TRUE.equals(success)) {
-                log.info("Seat lock acquired: {} by passenger {}", lockKey, passengerId);
-                return true;
+            if (lock.isOwnedBy(passengerId)) {
+                log.info("Seat lock acquired: {}:{} by passenger {}", flightId, seatNumber, passengerId);
+            } else {
+                log.debug("Seat lock already exists: {}:{}", flightId, seatNumber);
             }
-
-            log.debug("Seat lock already exists: {}", lockKey);
-            return false;
+            return lock;
         } catch (Exception e) {
             log.error("Error acquiring seat lock: {}", e.getMessage());
-            // Fallback to database-only locking if Redis fails
-            return false;
+            return null;
         }
     }
 
     /**
-     * Releases a seat lock. Only the owner can release the lock.
+     * Acquires or extends several seat locks, all or nothing.
+     *
+     * @param claims     The locks to acquire with their owners
+     * @param ttlSeconds The time-to-live for the locks
+     * @return Each lock after the call, in claim order, or null if the lock backend could not be reached
+     */
+    public List<SeatLock> acquireOrExtendLocks(List<LockClaim> claims, int ttlSeconds) {
+        try {
+            List<SeatLock> locks = seatLockBackend.acquireOrExtendAll(claims, TimeUnit.SECONDS.toMillis(ttlSeconds));
+            log.debug("Seat lock claim for {} seats returned {}", claims.size(), locks);
+            return locks;
+        } catch (Exception e) {
+            log.error("Error acquiring seat locks: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Releases a seat lock. Only the owner can release the lock; the ownership check and the
+     * delete run atomically in the backend.
      *
      * @param flightId    The flight ID
      * @param seatNumber  The seat number
@@ -58,18 +80,13 @@ public class SeatLockService {
      * @return true if lock released, false otherwise
      */
     public boolean releaseLock(UUID flightId, String seatNumber, UUID passengerId) {
-        String lockKey = buildLockKey(flightId, seatNumber);
-
         try {
-            Object currentHolder = redisTemplate.opsForValue().get(lockKey);
-
-            if (currentHolder != null && currentHolder.toString().equals(passengerId.toString())) {
-                redisTemplate.delete(lockKey);
-                log.info("Seat lock released: {} by passenger {}", lockKey, passengerId);
+            if (seatLockBackend.release(flightId, seatNumber, passengerId)) {
+                log.info("Seat lock released: {}:{} by passenger {}", flightId, seatNumber, passengerId);
                 return true;
             }
 
-            log.warn("Cannot release lock: {} - not owned by passenger {}", lockKey, passengerId);
+            log.warn("Cannot release lock: {}:{} - not owned by passenger {}", flightId, seatNumber, passengerId);
             return false;
         } catch (Exception e) {
             log.error("Error releasing seat lock: {}", e.getMessage());
@@ -77,6 +94,27 @@ public class SeatLockService {
         }
     }
 
+    /**
+     * Releases several seat locks in one round trip, each only if still owned by its expected owner.
+     *
+     * @param releases The locks to release with their expected owners
+     * @return The number of locks released
+     */
+    public int releaseLocks(List<LockRelease> releases) {
+        if (releases.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            int released = seatLockBackend.releaseAll(releases);
+            log.info("Released {} of {} seat locks", released, releases.size());
+            return released;
+        } catch (Exception e) {
+            log.error("Error releasing seat locks: {}", e.getMessage());
+            return 0;
+        }
+    }
+
     /**
      * Checks if a seat is currently locked.
      *
@@ -85,13 +123,7 @@ public class SeatLockService {
      * @return true if locked, false otherwise
      */
     public boolean isLocked(UUID flightId, String seatNumber) {
-        String lockKey = buildLockKey(flightId, seatNumber);
-        try {
-            return Boolean.TRUE.equals(redisTemplate.hasKey(lockKey));
-        } catch (Exception e) {
-            log.error("Error checking seat lock: {}", e.getMessage());
-            return false;
-        }
+        return getLockHolder(flightId, seatNumber) != null;
     }
 
     /**
@@ -102,13 +134,8 @@ public class SeatLockService {
      * @return The passenger ID or null if not locked
      */
     public UUID getLockHolder(UUID flightId, String seatNumber) {
-        String lockKey = buildLockKey(flightId, seatNumber);
         try {
-            Object value = redisTemplate.opsForValue().get(lockKey);
-            if (value != null) {
-                return UUID.fromString(value.toString());
-            }
-            return null;
+            return seatLockBackend.getOwner(flightId, seatNumber);
         } catch (Exception e) {
             log.error("Error getting lock holder: {}", e.getMessage());
             return null;
@@ -132,17 +159,11 @@ public class SeatLockService {
      * Force releases a lock (for cleanup purposes).
      */
     public void forceReleaseLock(UUID flightId, String seatNumber) {
-        String lockKey = buildLockKey(flightId, seatNumber);
         try {
-            redisTemplate.delete(lockKey);
-            log.info("Seat lock force released: {}", lockKey);
+            seatLockBackend.forceRelease(flightId, seatNumber);
+            log.info("Seat lock force released: {}:{}", flightId, seatNumber);
         } catch (Exception e) {
             log.error("Error force releasing seat lock: {}", e.getMessage());
         }
     }
-
-    private String buildLockKey(UUID flightId, String seatNumber) {
-        return SEAT_LOCK_PREFIX + flightId.toString() + ":" + seatNumber;
-    }
 }
-
@@ -0,0 +1,16 @@
+package com.skyhigh.checkin.service;
+
+import com.skyhigh.checkin.model.enums.SeatClass;
+import com.skyhigh.checkin.model.enums.SeatPosition;
+
+/**
+ * What automatic seat assignment looks for in a seat.
+ *
+ * @param seatClass      The cabin class to assign from
+ * @param position       The preferred position, or null for no preference
+ * @param keepMiddleFree Whether middle seats are only assigned once no other seat is left
+ * @param frontFirst     Whether rows are preferred front to back rather than back to front
+ */
+public record SeatPreferences(SeatClass seatClass, SeatPosition position, boolean keepMiddleFree,
+                              boolean frontFirst) {
+}
@@ -1,27 +1,34 @@
 package com.skyhigh.checkin.service;
 
 import com.skyhigh.checkin.config.CheckInConfig;
+import com.skyhigh.checkin.dto.response.SeatGroupHoldResponse;
 import com.skyhigh.checkin.dto.response.SeatHoldResponse;
 import com.skyhigh.checkin.dto.response.SeatMapResponse;
+import com.skyhigh.checkin.event.SeatStatusChangedEvent;
 import com.skyhigh.checkin.exception.*;
+import com.skyhigh.checkin.lock.LockClaim;
+import com.skyhigh.checkin.lock.LockRelease;
+import com.skyhigh.checkin.lock.SeatLock;
+import com.skyhigh.checkin.model.entity.Booking;
 import com.skyhigh.checkin.model.entity.CheckIn;
-import com.skyhigh.checkin.model.entity.Passenger;
 import com.skyhigh.checkin.model.entity.Seat;
 import com.skyhigh.checkin.model.entity.SeatAuditLog;
 import com.skyhigh.checkin.model.enums.SeatClass;
 import com.skyhigh.checkin.model.enums.SeatStatus;
 import com.skyhigh.checkin.repository.CheckInRepository;
-import com.skyhigh.checkin.repository.PassengerRepository;
 import com.skyhigh.checkin.repository.SeatAuditLogRepository;
 import com.skyhigh.checkin.repository.SeatRepository;
+import com.skyhigh.checkin.scheduler.SeatHoldExpiryWheel;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -31,172 +38,485 @@ import java.util.stream.Collectors;
 @Slf4j
 public class SeatService {
 
+    public static final String SEAT_MAP_CACHE = "seatMap";
+
+    private record GroupSeatHold(CheckIn checkIn, UUID passengerId, SeatRepository.SeatTransition seat) {}
+
     private final SeatRepository seatRepository;
-    private final PassengerRepository passengerRepository;
     private final CheckInRepository checkInRepository;
     private final SeatAuditLogRepository auditLogRepository;
     private final SeatLockService seatLockService;
     private final CheckInConfig checkInConfig;
-
-    @Cacheable(value = "seatMap", key = "#flightId")
-    @Transactional(readOnly = true)
+    private final SeatStateIndex seatStateIndex;
+    private final SeatVersionService seatVersionService;
+    private final CacheManager cacheManager;
+    private final SeatHoldExpiryWheel seatHoldExpiryWheel;
+    private final SeatWaitlistService seatWaitlistService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+
+    /**
+     * Serves the seat map from the local seat state index while it matches the flight's seat version.
+     * Otherwise the shared cache entry for that version is used, and only when that is missing too
+     * are the seats loaded from the database.
+     */
     public SeatMapResponse getSeatMap(UUID flightId) {
-        log.info("Fetching seat map for flight: {}", flightId);
+        return getSeatMap(flightId, seatVersionService.currentVersion(flightId));
+    }
+
+    /**
+     * Serves the seat map of a flight at a seat version already read by the caller, so that the body
+     * matches an entity tag built from that same version.
+     *
+     * @param flightId The flight ID
+     * @param version The flight's current seat version
+     * @return The seat map at that version
+     */
+    public SeatMapResponse getSeatMap(UUID flightId, long version) {
+        log.info("Fetching seat map for flight: {} at version: {}", flightId, version);
+
+        FlightSeatState state = seatStateIndex.get(flightId, version);
+        if (state != null) {
+            return state.toSeatMapResponse();
+        }
+
+        Cache cache = cacheManager.getCache(SEAT_MAP_CACHE);
+        String cacheKey = seatMapKey(flightId, version);
+
+        // Seat state that is merely due for a refresh is reloaded from the database, which also renews
+        // the cached entry; otherwise a cached copy at this version is as good as a fresh one
+        if (!seatStateIndex.contains(flightId, version)) {
+            SeatMapResponse cached = cache.get(cacheKey, SeatMapResponse.class);
+            if (cached != null) {
+                return cached;
+            }
+        }
 
-        List<Seat> seats = seatRepository.findByFlightIdOrderBySeatClassAndNumber(flightId);
+        // Shares the seat state load with every other reader of this flight and version
+        FlightSeatState loaded = seatStateIndex.getOrLoad(flightId, version,
+                () -> seatRepository.findByFlightIdOrderBySeatClassAndNumber(flightId),
+                fresh -> {
+                    if (fresh.size() > 0) {
+                        cache.put(cacheKey, fresh.toSeatMapResponse());
+                    }
+                });
 
-        if (seats.isEmpty()) {
+        if (loaded.size() == 0) {
             throw new ResourceNotFoundException("Seats for flight", flightId);
         }
+        return loaded.toSeatMapResponse();
+    }
 
-        Map<SeatClass, List<SeatMapResponse.SeatInfo>> seatsByClass = seats.stream()
-                .map(this::mapToSeatInfo)
-                .collect(Collectors.groupingBy(SeatMapResponse.SeatInfo::getSeatClass));
+    /**
+     * Returns only the seats whose status changed after {@code sinceVersion}, together with the new version.
+     * Falls back to the full seat map when the change journal does not reach back that far.
+     */
+    public SeatMapResponse getSeatMapChanges(UUID flightId, long sinceVersion) {
+        long version = seatVersionService.currentVersion(flightId);
+
+        FlightSeatState state = seatStateIndex.get(flightId, version);
+        if (state != null) {
+            SeatMapResponse delta = state.toSeatMapDelta(sinceVersion);
+            if (delta != null) {
+                return delta;
+            }
+        }
 
-        Map<SeatClass, Long> availableByClass = seats.stream()
-                .filter(s -> s.getStatus() == SeatStatus.AVAILABLE)
-                .collect(Collectors.groupingBy(Seat::getSeatClass, Collectors.counting()));
+        log.debug("Seat changes for flight {} since version {} unavailable, returning full map", flightId, sinceVersion);
+        return getSeatMap(flightId);
+    }
 
-        long total = seats.size();
-        long available = seats.stream().filter(Seat::isAvailable).count();
-        long held = seats.stream().filter(Seat::isHeld).count();
-        long confirmed = seats.stream().filter(Seat::isConfirmed).count();
+    /**
+     * Gets the seat number to seat ID index of a flight, used to resolve seats of the compact seat map.
+     *
+     * @param flightId The flight ID
+     * @return Seat IDs keyed by seat number, in seat map order
+     */
+    public Map<String, UUID> getSeatIdIndex(UUID flightId) {
+        return currentSeatState(flightId).seatIdsByNumber();
+    }
 
-        return SeatMapResponse.builder()
-                .flightId(flightId)
-                .flightNumber(seats.get(0).getFlight().getFlightNumber())
-                .seatsByClass(seatsByClass)
-                .summary(SeatMapResponse.SeatSummary.builder()
-                        .total(total)
-                        .available(available)
-                        .held(held)
-                        .confirmed(confirmed)
-                        .availableByClass(availableByClass)
-                        .build())
-                .retrievedAt(LocalDateTime.now())
-                .build();
+    /**
+     * Finds blocks of adjacent available seats in a cabin class from the flight's seat state,
+     * best first (see {@link FlightSeatState#findSeatBlocks}).
+     *
+     * @param flightId  The flight ID
+     * @param seatClass The cabin class
+     * @param size      The number of adjacent seats wanted
+     * @param limit     The maximum number of blocks to return
+     * @return The candidate blocks, best first; empty if no row has that many adjacent seats free
+     */
+    public List<SeatBlock> findSeatBlocks(UUID flightId, SeatClass seatClass, int size, int limit) {
+        return currentSeatState(flightId).findSeatBlocks(seatClass, size, limit);
+    }
+
+    private FlightSeatState currentSeatState(UUID flightId) {
+        long version = seatVersionService.currentVersion(flightId);
+        FlightSeatState state = seatStateIndex.getOrLoad(flightId, version,
+                () -> seatRepository.findByFlightIdOrderBySeatClassAndNumber(flightId));
+
+        if (state.size() == 0) {
+            throw new ResourceNotFoundException("Seats for flight", flightId);
+        }
+        return state;
+    }
+
+    public static String seatMapKey(UUID flightId, long version) {
+        return flightId + ":" + version;
+    }
+
+    /**
+     * Builds the weak entity tag of a flight's full seat map at a seat version.
+     * The tag is weak because every body carries its own retrieval time; two maps at the same version
+     * only have the same seats. The compact and JSON representations are still tagged differently.
+     */
+    public static String seatMapETag(UUID flightId, long version, boolean compact) {
+        return "W/\"" + flightId + "-" + version + (compact ? "-bin" : "") + "\"";
+    }
+
+    /**
+     * Tells whether a seat map cache key belongs to the given flight, at any version.
+     */
+    public static boolean isSeatMapKey(Object key, UUID flightId) {
+        return key.toString().startsWith(flightId + ":");
+    }
+
+    /**
+     * Tells whether a seat map cache key belongs to the given flight at a version older than {@code version}.
+     */
+    public static boolean isSupersededSeatMapKey(Object key, UUID flightId, long version) {
+        String prefix = flightId + ":";
+        String value = key.toString();
+        return value.startsWith(prefix) && Long.parseLong(value.substring(prefix.length())) < version;
     }
 
-    @CacheEvict(value = "seatMap", allEntries = true)
     @Transactional
     public SeatHoldResponse holdSeat(UUID seatId, UUID passengerId, UUID checkInId) {
         log.info("Attempting to hold seat {} for passenger {} (check-in: {})", seatId, passengerId, checkInId);
 
-        Seat seat = seatRepository.findByIdWithLock(seatId)
-                .orElseThrow(() -> new ResourceNotFoundException("Seat", seatId));
-
-        Passenger passenger = passengerRepository.findById(passengerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Passenger", passengerId));
-
         CheckIn checkIn = checkInRepository.findById(checkInId)
                 .orElseThrow(() -> new ResourceNotFoundException("Check-in", checkInId));
 
-        // Check if seat is available
-        if (seat.isConfirmed()) {
-            throw new SeatAlreadyConfirmedException(seat.getFlight().getId(), seat.getSeatNumber());
-        }
+        // Claim the seat with a single conditional update; the seat is only loaded to explain a failure
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime heldUntil = now.plusSeconds(checkInConfig.getSeatHoldDurationSeconds());
+        SeatRepository.SeatTransition held = seatRepository.holdIfAvailable(seatId, passengerId, heldUntil, now)
+                .orElseThrow(() -> seatNotHoldable(seatId));
 
-        if (seat.isHeld() && !seat.isHoldExpired()) {
-            if (!seat.isHeldByPassenger(passengerId)) {
-                throw new SeatAlreadyHeldException(seat.getFlight().getId(), seat.getSeatNumber(), seat.getHeldUntil());
-            }
-            // Already held by this passenger - extend the hold
+        if (held.getPreviousStatus() == SeatStatus.HELD) {
             log.info("Seat {} already held by passenger {}, extending hold", seatId, passengerId);
         }
 
-        // Try to acquire Redis lock
-        boolean lockAcquired = seatLockService.acquireLock(
-                seat.getFlight().getId(),
-                seat.getSeatNumber(),
-                passengerId,
-                checkInConfig.getSeatHoldDurationSeconds()
-        );
-
-        if (!lockAcquired && !seatLockService.isLockedByPassenger(seat.getFlight().getId(), seat.getSeatNumber(), passengerId)) {
-            // Someone else holds the Redis lock
-            throw new SeatAlreadyHeldException(seat.getFlight().getId(), seat.getSeatNumber(),
-                    LocalDateTime.now().plusSeconds(checkInConfig.getSeatHoldDurationSeconds()));
-        }
+        Long fencingToken = lockHeldSeat(held, passengerId, heldUntil);
 
         // Release any previously held seat by this passenger for this check-in
         if (checkIn.getSeat() != null && !checkIn.getSeat().getId().equals(seatId)) {
             releasePreviousSeat(checkIn, passengerId);
         }
 
-        // Update seat status
-        String previousStatus = seat.getStatus().name();
-        LocalDateTime heldUntil = LocalDateTime.now().plusSeconds(checkInConfig.getSeatHoldDurationSeconds());
-
-        seat.setStatus(SeatStatus.HELD);
-        seat.setHeldByPassenger(passenger);
-        seat.setHeldUntil(heldUntil);
-        seatRepository.save(seat);
+        seatHoldExpiryWheel.schedule(seatId, heldUntil);
 
         // Update check-in with selected seat
-        checkIn.setSeat(seat);
+        checkIn.setSeat(seatRepository.getReferenceById(seatId));
         checkIn.updateActivity();
         checkInRepository.save(checkIn);
 
         // Audit log
-        logSeatChange(seat, previousStatus, "HELD", passengerId, "Seat held by passenger");
-
-        // Invalidate seat map cache
-        evictSeatMapCache(seat.getFlight().getId());
+        logSeatChange(seatId, held.getFlightId(), held.getSeatNumber(),
+                held.getPreviousStatus().name(), "HELD", passengerId, "Seat held by passenger");
+        publishSeatChange(held.getFlightId(), seatId, held.getSeatNumber(), held.getPreviousStatus(), SeatStatus.HELD);
 
         log.info("Seat {} successfully held for passenger {} until {}", seatId, passengerId, heldUntil);
 
         return SeatHoldResponse.builder()
-                .seatId(seat.getId())
-                .seatNumber(seat.getSeatNumber())
-                .seatClass(seat.getSeatClass())
-                .status(seat.getStatus())
+                .seatId(seatId)
+                .seatNumber(held.getSeatNumber())
+                .seatClass(held.getSeatClass())
+                .status(SeatStatus.HELD)
                 .heldUntil(heldUntil)
                 .holdDurationSeconds(checkInConfig.getSeatHoldDurationSeconds())
+                .fencingToken(fencingToken)
                 .build();
     }
 
-    @CacheEvict(value = "seatMap", allEntries = true)
+    /**
+     * Holds the best available seat for a passenger who did not choose one. Candidates are ranked
+     * from the flight's seat state and claimed with one conditional statement that takes the best
+     * candidate still free, skipping seats being claimed concurrently, so nothing is retried.
+     * Like any other hold, it takes the seat lock, carries the lock's fencing token and expires on its own
+     * if the calling transaction commits without confirming it.
+     *
+     * @param flightId    The flight ID
+     * @param passengerId The passenger to hold the seat for
+     * @param preferences What to look for in a seat
+     * @return The held seat
+     */
     @Transactional
-    public void releaseSeatHold(UUID seatId, UUID passengerId) {
-        log.info("Releasing seat hold: {} by passenger: {}", seatId, passengerId);
+    public SeatHoldResponse holdBestSeat(UUID flightId, UUID passengerId, SeatPreferences preferences) {
+        List<UUID> candidates = currentSeatState(flightId)
+                .rankAvailableSeats(preferences, checkInConfig.getAutoSeatCandidates());
+        log.info("Auto-assigning a {} seat on flight {} for passenger {} from {} candidates",
+                preferences.seatClass(), flightId, passengerId, candidates.size());
+
+        if (candidates.isEmpty()) {
+            throw new InvalidSeatStateException("No " + preferences.seatClass() + " seats are available");
+        }
 
-        Seat seat = seatRepository.findByIdWithLock(seatId)
-                .orElseThrow(() -> new ResourceNotFoundException("Seat", seatId));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime heldUntil = now.plusSeconds(checkInConfig.getSeatHoldDurationSeconds());
+        String rankedSeatIds = candidates.stream().map(UUID::toString).collect(Collectors.joining(","));
+        SeatRepository.SeatTransition held = seatRepository.holdFirstAvailable(rankedSeatIds, passengerId, heldUntil, now)
+                .orElseThrow(() -> new InvalidSeatStateException(
+                        "No " + preferences.seatClass() + " seats are available. Please select a seat."));
 
-        if (!seat.isHeld()) {
-            log.warn("Seat {} is not held, nothing to release", seatId);
-            return;
+        Long fencingToken = lockHeldSeat(held, passengerId, heldUntil);
+        seatHoldExpiryWheel.schedule(held.getId(), heldUntil);
+
+        logSeatChange(held.getId(), flightId, held.getSeatNumber(), held.getPreviousStatus().name(), "HELD",
+                passengerId, "Seat assigned automatically");
+        publishSeatChange(flightId, held.getId(), held.getSeatNumber(), held.getPreviousStatus(), SeatStatus.HELD);
+
+        log.info("Seat {} assigned automatically to passenger {}", held.getSeatNumber(), passengerId);
+
+        return SeatHoldResponse.builder()
+                .seatId(held.getId())
+                .seatNumber(held.getSeatNumber())
+                .seatClass(held.getSeatClass())
+                .status(SeatStatus.HELD)
+                .heldUntil(heldUntil)
+                .holdDurationSeconds(checkInConfig.getSeatHoldDurationSeconds())
+                .fencingToken(fencingToken)
+                .build();
+    }
+
+    /**
+     * Holds one seat for each check-in of a group, all or nothing: either every seat is held for its
+     * check-in's passenger until the same time, or nothing is held and the unavailable seats are reported
+     * together with available seats nearby.
+     *
+     * @param seatIdsByCheckInId The seat to hold for each check-in; all must be in progress
+     * @param passengerId        The passenger making the request, who must be one of the group; every other
+     *                           check-in must belong to a booking in the same booking group
+     * @return The held seats with their shared expiry
+     */
+    @Transactional
+    public SeatGroupHoldResponse holdSeatGroup(Map<UUID, UUID> seatIdsByCheckInId, UUID passengerId) {
+        log.info("Attempting to hold {} seats for group of passenger {}", seatIdsByCheckInId.size(), passengerId);
+
+        if (new HashSet<>(seatIdsByCheckInId.values()).size() < seatIdsByCheckInId.size()) {
+            throw new InvalidSeatStateException("Each seat can only be requested once per group");
         }
 
-        if (!seat.isHeldByPassenger(passengerId)) {
-            throw new InvalidSeatStateException("You do not hold this seat");
+        List<CheckIn> checkIns = new ArrayList<>(checkInRepository.findAllByIdWithDetails(seatIdsByCheckInId.keySet()));
+        if (checkIns.size() < seatIdsByCheckInId.size()) {
+            Set<UUID> found = new HashSet<>();
+            checkIns.forEach(checkIn -> found.add(checkIn.getId()));
+            UUID missing = seatIdsByCheckInId.keySet().stream().filter(id -> !found.contains(id)).findFirst().orElseThrow();
+            throw new ResourceNotFoundException("Check-in", missing);
         }
 
-        // Release Redis lock
-        seatLockService.releaseLock(seat.getFlight().getId(), seat.getSeatNumber(), passengerId);
+        UUID flightId = checkIns.get(0).getBooking().getFlight().getId();
+        if (checkIns.stream().anyMatch(checkIn -> !checkIn.getBooking().getFlight().getId().equals(flightId))) {
+            throw new InvalidSeatStateException("All check-ins of a group must be for the same flight");
+        }
+
+        // The caller holds seats for their own check-in and for those of bookings made together with theirs
+        Booking own = checkIns.stream()
+                .map(CheckIn::getBooking)
+                .filter(booking -> booking.getPassenger().getId().equals(passengerId))
+                .findFirst()
+                .orElseThrow(() -> new FlightAccessDeniedException(passengerId, flightId));
+        for (CheckIn checkIn : checkIns) {
+            if (checkIn.getBooking() != own && !own.isInGroupWith(checkIn.getBooking())) {
+                throw new FlightAccessDeniedException(passengerId, flightId);
+            }
+            if (!checkIn.isActive()) {
+                throw new InvalidSeatStateException("Check-in " + checkIn.getId() + " is not in progress");
+            }
+        }
+
+        // Claim rows in seat ID order so that overlapping groups cannot deadlock each other
+        checkIns.sort(Comparator.comparing(checkIn -> seatIdsByCheckInId.get(checkIn.getId())));
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime heldUntil = now.plusSeconds(checkInConfig.getSeatHoldDurationSeconds());
+        List<GroupSeatHold> holds = new ArrayList<>();
+        List<UUID> unavailable = new ArrayList<>();
+        for (CheckIn checkIn : checkIns) {
+            UUID seatId = seatIdsByCheckInId.get(checkIn.getId());
+            UUID holderId = checkIn.getBooking().getPassenger().getId();
+            seatRepository.holdIfAvailable(seatId, holderId, heldUntil, now)
+                    .filter(held -> held.getFlightId().equals(flightId))
+                    .ifPresentOrElse(held -> holds.add(new GroupSeatHold(checkIn, holderId, held)),
+                            () -> unavailable.add(seatId));
+        }
+
+        if (!unavailable.isEmpty()) {
+            // The rollback undoes the holds taken above
+            throw seatGroupUnavailable(flightId, seatIdsByCheckInId.values(), unavailable);
+        }
+
+        List<SeatLock> locks = seatLockService.acquireOrExtendLocks(holds.stream()
+                .map(hold -> new LockClaim(flightId, hold.seat().getSeatNumber(), hold.passengerId()))
+                .toList(), checkInConfig.getSeatHoldDurationSeconds());
+
+        Map<UUID, Long> fencingTokens = new HashMap<>();
+        holds.forEach(hold -> fencingTokens.put(hold.seat().getId(), hold.seat().getFencingToken()));
+        if (locks == null) {
+            log.warn("Seat lock backend unavailable, holding group seats on flight {} with the database only", flightId);
+        } else {
+            for (int i = 0; i < holds.size(); i++) {
+                if (!locks.get(i).isOwnedBy(holds.get(i).passengerId())) {
+                    unavailable.add(holds.get(i).seat().getId());
+                }
+            }
+            if (!unavailable.isEmpty()) {
+                throw seatGroupUnavailable(flightId, seatIdsByCheckInId.values(), unavailable);
+            }
+
+            for (int i = 0; i < holds.size(); i++) {
+                GroupSeatHold hold = holds.get(i);
+                Long fencingToken = recordFencingToken(hold.seat(), hold.passengerId(), locks.get(i));
+                if (fencingToken == null) {
+                    unavailable.add(hold.seat().getId());
+                }
+                fencingTokens.put(hold.seat().getId(), fencingToken);
+            }
+            if (!unavailable.isEmpty()) {
+                // The rollback undoes the holds; locks issued by this call must go with them, while
+                // extended locks (which keep the token of the hold they extend) stay with their holds
+                List<LockRelease> acquired = new ArrayList<>();
+                for (int i = 0; i < holds.size(); i++) {
+                    GroupSeatHold hold = holds.get(i);
+                    if (locks.get(i).fencingToken() != hold.seat().getFencingToken()) {
+                        acquired.add(new LockRelease(flightId, hold.seat().getSeatNumber(), hold.passengerId()));
+                    }
+                }
+                seatLockService.releaseLocks(acquired);
+                throw seatGroupUnavailable(flightId, seatIdsByCheckInId.values(), unavailable);
+            }
+        }
+
+        List<SeatHoldResponse> seats = new ArrayList<>();
+        for (GroupSeatHold hold : holds) {
+            SeatRepository.SeatTransition held = hold.seat();
+            CheckIn checkIn = hold.checkIn();
+
+            if (checkIn.getSeat() != null && !checkIn.getSeat().getId().equals(held.getId())) {
+                releasePreviousSeat(checkIn, hold.passengerId());
+            }
+            checkIn.setSeat(seatRepository.getReferenceById(held.getId()));
+            checkIn.updateActivity();
+            seatHoldExpiryWheel.schedule(held.getId(), heldUntil);
+
+            logSeatChange(held.getId(), flightId, held.getSeatNumber(), held.getPreviousStatus().name(), "HELD",
+                    passengerId, "Seat held for group");
+            publishSeatChange(flightId, held.getId(), held.getSeatNumber(), held.getPreviousStatus(), SeatStatus.HELD);
+
+            seats.add(SeatHoldResponse.builder()
+                    .seatId(held.getId())
+                    .seatNumber(held.getSeatNumber())
+                    .seatClass(held.getSeatClass())
+                    .status(SeatStatus.HELD)
+                    .heldUntil(heldUntil)
+                    .holdDurationSeconds(checkInConfig.getSeatHoldDurationSeconds())
+                    .fencingToken(fencingTokens.get(held.getId()))
+                    .build());
+        }
+        checkInRepository.saveAll(checkIns);
+
+        log.info("Held {} seats on flight {} for group of passenger {} until {}", seats.size(), flightId, passengerId, heldUntil);
+
+        return SeatGroupHoldResponse.builder()
+                .seats(seats)
+                .heldUntil(heldUntil)
+                .holdDurationSeconds(checkInConfig.getSeatHoldDurationSeconds())
+                .build();
+    }
 
-        // Update database
-        String previousStatus = seat.getStatus().name();
-        seat.setStatus(SeatStatus.AVAILABLE);
-        seat.setHeldByPassenger(null);
-        seat.setHeldUntil(null);
-        seatRepository.save(seat);
+    /**
+     * Releases a passenger's seat hold with a single conditional update and hands the seat to its
+     * waitlist. The seat is only loaded to explain a failure.
+     *
+     * @param seatId       The seat ID
+     * @param passengerId  The passenger releasing the hold
+     * @param fencingToken The fencing token returned with the hold, or null to release whichever hold
+     *                     the passenger has on the seat
+     */
+    @Transactional
+    public void releaseSeatHold(UUID seatId, UUID passengerId, Long fencingToken) {
+        log.info("Releasing seat hold: {} by passenger: {}", seatId, passengerId);
+
+        SeatRepository.SeatTransition released =
+                seatRepository.releaseIfHeldBy(seatId, passengerId, fencingToken, LocalDateTime.now()).orElse(null);
+
+        if (released == null) {
+            Seat seat = seatRepository.findById(seatId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Seat", seatId));
+
+            if (!seat.isHeld()) {
+                log.warn("Seat {} is not held, nothing to release", seatId);
+                return;
+            }
+
+            if (!seat.isHeldByPassenger(passengerId)) {
+                throw new InvalidSeatStateException("You do not hold this seat");
+            }
 
-        logSeatChange(seat, previousStatus, "AVAILABLE", passengerId, "Seat released by passenger");
+            throw new SeatHoldSupersededException(seatId, seat.getSeatNumber());
+        }
+
+        // Release Redis lock
+        seatLockService.releaseLock(released.getFlightId(), released.getSeatNumber(), passengerId);
+        seatHoldExpiryWheel.cancel(seatId);
+
+        logSeatChange(seatId, released.getFlightId(), released.getSeatNumber(), "HELD", "AVAILABLE", passengerId,
+                "Seat released by passenger");
+        publishSeatChange(released.getFlightId(), seatId, released.getSeatNumber(), SeatStatus.HELD, SeatStatus.AVAILABLE);
+        seatWaitlistService.handOver(seatId);
 
         log.info("Seat {} released successfully", seatId);
     }
 
-    @CacheEvict(value = "seatMap", allEntries = true)
+    /**
+     * Confirms a passenger's seat hold with a single conditional update. The seat is only loaded to
+     * explain a failure.
+     *
+     * @param seatId       The seat ID
+     * @param passengerId  The passenger confirming the seat
+     * @param fencingToken The fencing token returned with the hold, or null to confirm whichever live hold
+     *                     the passenger has on the seat
+     * @return The confirmed seat
+     */
     @Transactional
-    public Seat confirmSeat(UUID seatId, UUID passengerId) {
+    public Seat confirmSeat(UUID seatId, UUID passengerId, Long fencingToken) {
         log.info("Confirming seat {} for passenger {}", seatId, passengerId);
 
-        Seat seat = seatRepository.findByIdWithLock(seatId)
-                .orElseThrow(() -> new ResourceNotFoundException("Seat", seatId));
+        // Confirm with a single conditional update; the seat is only loaded to explain a failure
+        SeatRepository.SeatTransition confirmed =
+                seatRepository.confirmIfHeldBy(seatId, passengerId, fencingToken, LocalDateTime.now()).orElse(null);
+
+        if (confirmed != null) {
+            seatHoldExpiryWheel.cancel(seatId);
+
+            // Release Redis lock
+            seatLockService.releaseLock(confirmed.getFlightId(), confirmed.getSeatNumber(), passengerId);
+
+            logSeatChange(seatId, confirmed.getFlightId(), confirmed.getSeatNumber(), "HELD", "CONFIRMED", passengerId,
+                    "Seat confirmed by passenger");
+            publishSeatChange(confirmed.getFlightId(), seatId, confirmed.getSeatNumber(), SeatStatus.HELD,
+                    SeatStatus.CONFIRMED);
 
-        Passenger passenger = passengerRepository.findById(passengerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Passenger", passengerId));
+            // The update bypassed the persistence context, which may still have the seat as held
+            Seat seat = seatRepository.getReferenceById(seatId);
+            entityManager.refresh(seat);
+
+            log.info("Seat {} confirmed for passenger {}", seatId, passengerId);
+            return seat;
+        }
+
+        Seat seat = seatRepository.findById(seatId)
+                .orElseThrow(() -> new ResourceNotFoundException("Seat", seatId));
 
         // Validate seat state
         if (seat.isConfirmed()) {
@@ -212,35 +532,121 @@ public class SeatService {
         }
 
         if (seat.isHoldExpired()) {
-            // Release the seat and throw exception
-            seat.setStatus(SeatStatus.AVAILABLE);
-            seat.setHeldByPassenger(null);
-            seat.setHeldUntil(null);
-            seatRepository.save(seat);
-            seatLockService.forceReleaseLock(seat.getFlight().getId(), seat.getSeatNumber());
+            // Releasing here would be rolled back with this transaction while the lock stayed released;
+            // the expiry wheel, the Redis key expiry or the sweep releases the hold, audits it and hands it over
             throw new SeatHoldExpiredException(seat.getSeatNumber(), seat.getHeldUntil());
         }
 
-        // Confirm the seat with optimistic locking
-        try {
-            String previousStatus = seat.getStatus().name();
-            seat.setStatus(SeatStatus.CONFIRMED);
-            seat.setConfirmedByPassenger(passenger);
-            seat.setHeldByPassenger(null);
-            seat.setHeldUntil(null);
-            seat = seatRepository.save(seat);
+        if (fencingToken != null && !fencingToken.equals(seat.getFencingToken())) {
+            throw new SeatHoldSupersededException(seatId, seat.getSeatNumber());
+        }
 
-            // Release Redis lock
-            seatLockService.forceReleaseLock(seat.getFlight().getId(), seat.getSeatNumber());
+        throw new InvalidSeatStateException("Seat was modified by another process. Please try again.");
+    }
 
-            logSeatChange(seat, previousStatus, "CONFIRMED", passengerId, "Seat confirmed by passenger");
+    /**
+     * Takes or extends the seat lock for a seat just held by a passenger and records the lock's fencing token
+     * on the hold. If the lock belongs to someone else or its token is stale, the caller's transaction must roll
+     * the hold back, so a lock taken by this call is released before the hold is rejected.
+     *
+     * @param held        The hold statement's result
+     * @param passengerId The passenger holding the seat
+     * @param heldUntil   When the hold expires
+     * @return The hold's fencing token
+     * @throws SeatAlreadyHeldException if another passenger holds the seat lock or its token is stale
+     */
+    private Long lockHeldSeat(SeatRepository.SeatTransition held, UUID passengerId, LocalDateTime heldUntil) {
+        // Acquire the seat lock, or refresh its TTL if this passenger already holds it
+        SeatLock lock = seatLockService.acquireOrExtendLock(
+                held.getFlightId(),
+                held.getSeatNumber(),
+                passengerId,
+                checkInConfig.getSeatHoldDurationSeconds()
+        );
 
-            log.info("Seat {} confirmed for passenger {}", seatId, passengerId);
-            return seat;
-        } catch (ObjectOptimisticLockingFailureException e) {
-            log.error("Optimistic lock failure while confirming seat {}", seatId);
-            throw new InvalidSeatStateException("Seat was modified by another process. Please try again.");
+        if (lock == null) {
+            // The conditional hold update already guarantees exclusive ownership and issued a fencing token
+            log.warn("Seat lock backend unavailable, holding seat {} with the database only", held.getId());
+            return held.getFencingToken();
+        }
+
+        Long fencingToken = lock.isOwnedBy(passengerId) ? recordFencingToken(held, passengerId, lock) : null;
+        if (fencingToken == null) {
+            // Someone else holds the lock, or its token is stale - the rollback undoes the hold update,
+            // and a stale lock taken by this call must not outlive it
+            if (lock.isOwnedBy(passengerId)) {
+                seatLockService.releaseLock(held.getFlightId(), held.getSeatNumber(), passengerId);
+            }
+            LocalDateTime lockedUntil = lock.ttlMillis() > 0
+                    ? LocalDateTime.now().plus(Duration.ofMillis(lock.ttlMillis()))
+                    : heldUntil;
+            throw new SeatAlreadyHeldException(held.getId(), held.getFlightId(), held.getSeatNumber(), lockedUntil);
+        }
+        return fencingToken;
+    }
+
+    /**
+     * Records the fencing token of the seat lock acquired for a hold on the seat row, unless the hold
+     * statement already holds it.
+     *
+     * @return The hold's fencing token, or null if the lock's token is older than the recorded one
+     */
+    private Long recordFencingToken(SeatRepository.SeatTransition held, UUID passengerId, SeatLock lock) {
+        if (lock.fencingToken() == held.getFencingToken()) {
+            return lock.fencingToken();
+        }
+        if (seatRepository.recordFencingToken(held.getId(), passengerId, lock.fencingToken()) == 0) {
+            log.warn("Stale fencing token {} for seat {}", lock.fencingToken(), held.getSeatNumber());
+            return null;
+        }
+        return lock.fencingToken();
+    }
+
+    private RuntimeException seatNotHoldable(UUID seatId) {
+        Seat seat = seatRepository.findById(seatId)
+                .orElseThrow(() -> new ResourceNotFoundException("Seat", seatId));
+
+        if (seat.isConfirmed()) {
+            return new SeatAlreadyConfirmedException(seat.getFlight().getId(), seat.getSeatNumber());
         }
+        return new SeatAlreadyHeldException(seatId, seat.getFlight().getId(), seat.getSeatNumber(), seat.getHeldUntil());
+    }
+
+    /**
+     * Builds the failure of a group hold, suggesting as many available seats as the group needs in the
+     * requested cabin classes, nearest to the requested rows first.
+     * The seats are read straight from the repository rather than through the seat map: this transaction
+     * is about to roll back, and its own uncommitted holds must not end up in the seat state index or
+     * the seat map cache.
+     */
+    private SeatGroupUnavailableException seatGroupUnavailable(UUID flightId, Collection<UUID> requestedSeatIds,
+                                                               List<UUID> unavailableSeatIds) {
+        Map<UUID, Seat> seatsById = new HashMap<>();
+        seatRepository.findByFlightIdOrderBySeatClassAndNumber(flightId)
+                .forEach(seat -> seatsById.put(seat.getId(), seat));
+
+        List<String> unavailable = unavailableSeatIds.stream()
+                .map(seatId -> seatsById.containsKey(seatId) ? seatsById.get(seatId).getSeatNumber() : seatId.toString())
+                .toList();
+
+        List<Seat> requested = requestedSeatIds.stream()
+                .map(seatsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        Set<SeatClass> classes = new HashSet<>();
+        requested.forEach(seat -> classes.add(seat.getSeatClass()));
+        int anchorRow = requested.stream().mapToInt(seat -> FlightSeatState.rowOf(seat.getSeatNumber())).min().orElse(0);
+
+        List<String> alternatives = seatsById.values().stream()
+                .filter(seat -> seat.isAvailable() && classes.contains(seat.getSeatClass()))
+                .filter(seat -> !requestedSeatIds.contains(seat.getId()))
+                .sorted(Comparator.comparingInt((Seat seat) -> Math.abs(FlightSeatState.rowOf(seat.getSeatNumber()) - anchorRow))
+                        .thenComparing(Seat::getSeatNumber))
+                .limit(requestedSeatIds.size())
+                .map(Seat::getSeatNumber)
+                .toList();
+
+        return new SeatGroupUnavailableException(flightId, unavailable, alternatives);
     }
 
     @Transactional(readOnly = true)
@@ -258,25 +664,23 @@ public class SeatService {
             previousSeat.setHeldByPassenger(null);
             previousSeat.setHeldUntil(null);
             seatRepository.save(previousSeat);
+            seatHoldExpiryWheel.cancel(previousSeat.getId());
             logSeatChange(previousSeat, "HELD", "AVAILABLE", passengerId, "Seat released - passenger selected different seat");
+            publishSeatChange(previousSeat, SeatStatus.HELD);
+            seatWaitlistService.handOver(previousSeat.getId());
         }
     }
 
-    private SeatMapResponse.SeatInfo mapToSeatInfo(Seat seat) {
-        return SeatMapResponse.SeatInfo.builder()
-                .id(seat.getId())
-                .seatNumber(seat.getSeatNumber())
-                .seatClass(seat.getSeatClass())
-                .status(seat.getStatus())
-                .available(seat.isAvailable())
-                .build();
+    private void logSeatChange(Seat seat, String previousStatus, String newStatus, UUID passengerId, String reason) {
+        logSeatChange(seat.getId(), seat.getFlight().getId(), seat.getSeatNumber(), previousStatus, newStatus, passengerId, reason);
     }
 
-    private void logSeatChange(Seat seat, String previousStatus, String newStatus, UUID passengerId, String reason) {
+    private void logSeatChange(UUID seatId, UUID flightId, String seatNumber, String previousStatus, String newStatus,
+                               UUID passengerId, String reason) {
         SeatAuditLog auditLog = SeatAuditLog.builder()
-                .seatId(seat.getId())
-                .flightId(seat.getFlight().getId())
-                .seatNumber(seat.getSeatNumber())
+                .seatId(seatId)
+                .flightId(flightId)
+                .seatNumber(seatNumber)
                 .previousStatus(previousStatus)
                 .newStatus(newStatus)
                 .changedByPassengerId(passengerId)
@@ -285,9 +689,11 @@ public class SeatService {
         auditLogRepository.save(auditLog);
     }
 
-    @CacheEvict(value = "seatMap", key = "#flightId")
-    public void evictSeatMapCache(UUID flightId) {
-        log.debug("Evicting seat map cache for flight: {}", flightId);
+    private void publishSeatChange(Seat seat, SeatStatus previousStatus) {
+        publishSeatChange(seat.getFlight().getId(), seat.getId(), seat.getSeatNumber(), previousStatus, seat.getStatus());
     }
-}
 
+    private void publishSeatChange(UUID flightId, UUID seatId, String seatNumber, SeatStatus previousStatus, SeatStatus newStatus) {
+        eventPublisher.publishEvent(new SeatStatusChangedEvent(flightId, seatId, seatNumber, previousStatus, newStatus));
+    }
+}
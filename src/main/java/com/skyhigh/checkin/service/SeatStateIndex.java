@@ -0,0 +1,176 @@
+package com.skyhigh.checkin.service;
+
+import com.skyhigh.checkin.cache.RequestCoalescer;
+import com.skyhigh.checkin.config.CacheConfig;
+import com.skyhigh.checkin.config.CheckInConfig;
+import com.skyhigh.checkin.model.entity.Seat;
+import com.skyhigh.checkin.model.enums.SeatStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Per-flight in-memory seat state used as the read model for seat maps and seat summaries.
+ * Each entry is tagged with the flight seat version it reflects (see {@link SeatVersionService});
+ * committed transitions are applied incrementally and an entry is only served while its version
+ * matches the shared one. {@code seat-index-max-age-seconds} bounds the age of an entry as a safety net.
+ * <p>
+ * Entries approaching that age are expired early at random, with a probability that grows with their
+ * age and with how long they took to load, so a single caller usually refreshes an entry while the
+ * others keep being served from it. Concurrent loads of the same entry are coalesced.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SeatStateIndex {
+
+    public static final String SEAT_STATE_LOADS = "seatState";
+    public static final String SEAT_SUMMARY_LOADS = "seatSummary";
+
+    private final Map<UUID, FlightSeatState> states = new ConcurrentHashMap<>();
+    private final Map<UUID, TimedSummary> summaries = new ConcurrentHashMap<>();
+
+    private final CheckInConfig checkInConfig;
+    private final CacheConfig cacheConfig;
+    private final RequestCoalescer requestCoalescer;
+
+    private record TimedSummary(FlightSeatSummary summary, long loadedAtNanos, long loadNanos) {}
+
+    /**
+     * Returns the seat state for a flight if it reflects the given version.
+     *
+     * @param flightId The flight ID
+     * @param version  The current flight seat version
+     * @return The seat state, or null if absent, stale or due for a refresh
+     */
+    public FlightSeatState get(UUID flightId, long version) {
+        FlightSeatState state = states.get(flightId);
+        if (state == null || state.getVersion() != version || isExpired(state.ageNanos(), state.getLoadNanos())) {
+            return null;
+        }
+        return state;
+    }
+
+    /**
+     * Tells whether the flight has seat state at the given version, including state due for a refresh.
+     */
+    public boolean contains(UUID flightId, long version) {
+        FlightSeatState state = states.get(flightId);
+        return state != null && state.getVersion() == version;
+    }
+
+    /**
+     * Builds and stores the seat state for a flight.
+     *
+     * @param flightId The flight ID
+     * @param version  The flight seat version read before the seats are loaded
+     * @param loader   Reads the flight's seats ordered by class and number
+     * @return The new seat state
+     */
+    public FlightSeatState load(UUID flightId, long version, Supplier<List<Seat>> loader) {
+        long startedAt = System.nanoTime();
+        List<Seat> seats = loader.get();
+
+        FlightSeatState state = FlightSeatState.of(flightId, version, seats, checkInConfig.getSeatIndexJournalSize());
+        state.setLoadNanos(System.nanoTime() - startedAt);
+        FlightSeatState previous = states.get(flightId);
+        if (previous != null && state.continueJournal(previous)) {
+            log.debug("Carried the change journal of flight {} over to its reloaded seat state", flightId);
+        }
+        states.put(flightId, state);
+        log.debug("Loaded seat state index for flight {} at version {} ({} seats)", flightId, version, state.size());
+        return state;
+    }
+
+    public FlightSeatState getOrLoad(UUID flightId, long version, Supplier<List<Seat>> loader) {
+        return getOrLoad(flightId, version, loader, loaded -> { });
+    }
+
+    /**
+     * Returns the seat state for a flight at the given version, loading it if it is absent, stale or
+     * due for a refresh. Concurrent loads of the same flight and version share one database read.
+     *
+     * @param flightId The flight ID
+     * @param version  The current flight seat version
+     * @param loader   Reads the flight's seats ordered by class and number
+     * @param onLoad   Called once with newly loaded state, before the waiting callers get it
+     * @return The seat state
+     */
+    public FlightSeatState getOrLoad(UUID flightId, long version, Supplier<List<Seat>> loader,
+                                     Consumer<FlightSeatState> onLoad) {
+        FlightSeatState state = get(flightId, version);
+        return state != null ? state
+                : requestCoalescer.load(SEAT_STATE_LOADS, flightId + ":" + version, () -> {
+                    FlightSeatState loaded = load(flightId, version, loader);
+                    onLoad.accept(loaded);
+                    return loaded;
+                });
+    }
+
+    /**
+     * Returns the seat counts of a flight at the given version, from the seat state if it is loaded
+     * and otherwise from a summary computed by {@code loader}, without loading individual seats.
+     *
+     * @param flightId The flight ID
+     * @param version  The current flight seat version
+     * @param loader   Computes the summary at that version, called only if none is held
+     * @return The seat summary
+     */
+    public FlightSeatSummary getOrLoadSummary(UUID flightId, long version, Supplier<FlightSeatSummary> loader) {
+        FlightSeatState state = get(flightId, version);
+        if (state != null) {
+            return state.summary();
+        }
+
+        TimedSummary timed = summaries.get(flightId);
+        if (timed != null && timed.summary().getVersion() == version
+                && !isExpired(System.nanoTime() - timed.loadedAtNanos(), timed.loadNanos())) {
+            return timed.summary();
+        }
+
+        return requestCoalescer.load(SEAT_SUMMARY_LOADS, flightId + ":" + version, () -> {
+            long startedAt = System.nanoTime();
+            FlightSeatSummary summary = loader.get();
+            long loadedAt = System.nanoTime();
+            summaries.put(flightId, new TimedSummary(summary, loadedAt, loadedAt - startedAt));
+            return summary;
+        });
+    }
+
+    /**
+     * Applies a committed seat transition. The entry is dropped if it cannot be brought
+     * to the new version incrementally.
+     */
+    public void apply(UUID flightId, UUID seatId, SeatStatus newStatus, long version) {
+        FlightSeatState state = states.get(flightId);
+        if (state != null && !state.apply(seatId, newStatus, version)) {
+            log.debug("Seat state index for flight {} is behind version {}, dropping", flightId, version);
+            evict(flightId);
+        }
+    }
+
+    public void evict(UUID flightId) {
+        states.remove(flightId);
+        summaries.remove(flightId);
+    }
+
+    /**
+     * Probabilistic early expiration: an entry counts as expired once its age, plus its load time scaled
+     * by {@code early-refresh-beta} and a random exponential factor, reaches the maximum age.
+     */
+    private boolean isExpired(long ageNanos, long loadNanos) {
+        long maxAgeNanos = TimeUnit.SECONDS.toNanos(checkInConfig.getSeatIndexMaxAgeSeconds());
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        double earlyNanos = -loadNanos * cacheConfig.getEarlyRefreshBeta() * Math.log(random);
+        return ageNanos + earlyNanos >= maxAgeNanos;
+    }
+}
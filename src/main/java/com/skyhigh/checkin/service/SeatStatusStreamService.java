@@ -0,0 +1,195 @@
+package com.skyhigh.checkin.service;
+
+import com.skyhigh.checkin.config.CheckInConfig;
+import com.skyhigh.checkin.event.SeatChange;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed seat status changes to Server-Sent Events subscribers of a flight.
+ * Every change is fanned out once per subscriber from the single stream fed by {@link SeatVersionService},
+ * which covers local changes and those received from other nodes.
+ * Each subscriber has a bounded buffer drained by a sender of its own, taken from a pool that grows with
+ * the number of subscribers that have something to send, so a client that stops reading only ever blocks
+ * its own sender. A subscriber that falls behind has its buffer dropped and receives a {@code resync}
+ * event instead, after which it should fetch the seat map with {@code sinceVersion}.
+ * Changes committed on other nodes only arrive while {@code skyhigh.cache.seat-change-fanout-enabled} is set.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatStatusStreamService {
+
+    public static final String SEAT_STATUS_EVENT = "seat-status";
+    public static final String CONNECTED_EVENT = "connected";
+    public static final String RESYNC_EVENT = "resync";
+
+    private final CheckInConfig checkInConfig;
+
+    private final Map<UUID, Set<Subscriber>> subscribersByFlight = new ConcurrentHashMap<>();
+
+    // No queue: every drain gets a thread, idle or new, and a blocked send never delays another subscriber
+    private final ExecutorService senders = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "seat-stream-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    public record SeatStreamPosition(UUID flightId, long version) {}
+
+    /**
+     * Opens a seat status stream for a flight.
+     *
+     * @param flightId       The flight ID
+     * @param currentVersion The flight seat version at subscription time, sent as the first event
+     * @return The emitter bound to the HTTP response
+     */
+    public SseEmitter subscribe(UUID flightId, long currentVersion) {
+        SseEmitter emitter = new SseEmitter(TimeUnit.SECONDS.toMillis(checkInConfig.getSeatStreamTimeoutSeconds()));
+        Subscriber subscriber = new Subscriber(flightId, emitter, currentVersion);
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        subscribersByFlight.computeIfAbsent(flightId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriber.offer(SseEmitter.event()
+                .name(CONNECTED_EVENT)
+                .data(new SeatStreamPosition(flightId, currentVersion)));
+
+        log.debug("Seat stream opened for flight {} ({} subscribers)", flightId, subscriberCount(flightId));
+        return emitter;
+    }
+
+    /**
+     * Fans a committed seat change out to the flight's subscribers on this node.
+     */
+    public void broadcast(SeatChange change) {
+        Set<Subscriber> subscribers = subscribersByFlight.get(change.flightId());
+        if (subscribers == null) {
+            return;
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(SseEmitter.event()
+                    .name(SEAT_STATUS_EVENT)
+                    .id(Long.toString(change.version()))
+                    .data(change), change.version());
+        }
+    }
+
+    public int subscriberCount(UUID flightId) {
+        Set<Subscriber> subscribers = subscribersByFlight.get(flightId);
+        return subscribers != null ? subscribers.size() : 0;
+    }
+
+    /**
+     * Keeps idle connections open through proxies and detects clients that went away.
+     */
+    @Scheduled(fixedRate = 15000) // 15 seconds
+    public void sendHeartbeats() {
+        subscribersByFlight.values().forEach(subscribers ->
+                subscribers.forEach(subscriber -> subscriber.offer(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        subscribersByFlight.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter.complete()));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribersByFlight.computeIfPresent(subscriber.flightId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private final class Subscriber {
+
+        private final UUID flightId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile long lastVersion;
+        private volatile long resyncVersion = -1;
+
+        private Subscriber(UUID flightId, SseEmitter emitter, long version) {
+            this.flightId = flightId;
+            this.emitter = emitter;
+            this.lastVersion = version;
+            this.buffer = new ArrayBlockingQueue<>(checkInConfig.getSeatStreamBufferSize());
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            offer(event, -1);
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event, long version) {
+            if (version > lastVersion) {
+                lastVersion = version;
+            }
+            if (!buffer.offer(event)) {
+                // Slow consumer - drop what is buffered and ask it to catch up from the seat map instead
+                buffer.clear();
+                resyncVersion = lastVersion;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                long resync = resyncVersion;
+                if (resync >= 0) {
+                    resyncVersion = -1;
+                    emitter.send(SseEmitter.event()
+                            .name(RESYNC_EVENT)
+                            .data(new SeatStreamPosition(flightId, resync)));
+                }
+
+                SseEmitter.SseEventBuilder event;
+                while ((event = buffer.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (Exception e) {
+                log.debug("Seat stream for flight {} closed: {}", flightId, e.getMessage());
+                unsubscribe(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+
+            if (!buffer.isEmpty() || resyncVersion >= 0) {
+                scheduleDrain();
+            }
+        }
+    }
+}
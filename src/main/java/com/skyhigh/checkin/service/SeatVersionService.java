@@ -0,0 +1,161 @@
+package com.skyhigh.checkin.service;
+
+import com.skyhigh.checkin.cache.CacheInvalidationPublisher;
+import com.skyhigh.checkin.cache.RedisGuard;
+import com.skyhigh.checkin.cache.TwoLevelCacheManager;
+import com.skyhigh.checkin.config.CacheConfig;
+import com.skyhigh.checkin.event.SeatChange;
+import com.skyhigh.checkin.event.SeatStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintains a monotonically increasing seat version per flight, shared by all nodes through Redis.
+ * Every committed seat status change bumps the version; cached seat maps are keyed by
+ * flight and version, so a flight's entries stay valid until that flight actually changes.
+ * Bumps are broadcast over pub/sub together with the seat that changed, so other nodes advance
+ * their seat state index in place and only re-read a version from Redis once their local copy
+ * is older than {@code seat-version-refresh-millis}.
+ * If Redis loses a version and counts from scratch, the flight's local read model is reset to the new count.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatVersionService {
+
+    private static final String SEAT_VERSION_PREFIX = "seat:version:";
+    private static final String OPERATION = "seatVersion";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final SeatStateIndex seatStateIndex;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final TwoLevelCacheManager cacheManager;
+    private final SeatStatusStreamService seatStatusStreamService;
+    private final CacheConfig cacheConfig;
+    private final RedisGuard redisGuard;
+
+    private final Map<UUID, KnownVersion> knownVersions = new ConcurrentHashMap<>();
+
+    private record KnownVersion(long version, long observedAtNanos) {}
+
+    /**
+     * Gets the current seat version of a flight.
+     * Falls back to the last version seen by this node if Redis is unavailable or its circuit breaker is open.
+     *
+     * @param flightId The flight ID
+     * @return The current version, 0 if the flight's seats never changed
+     */
+    public long currentVersion(UUID flightId) {
+        KnownVersion known = knownVersions.get(flightId);
+        long refreshNanos = TimeUnit.MILLISECONDS.toNanos(cacheConfig.getSeatVersionRefreshMillis());
+        if (known != null && System.nanoTime() - known.observedAtNanos() < refreshNanos) {
+            return known.version();
+        }
+
+        long issuedAt = System.nanoTime();
+        try {
+            Object value = redisGuard.execute(() -> redisTemplate.opsForValue().get(buildVersionKey(flightId)));
+            return remember(flightId, value != null ? Long.parseLong(value.toString()) : 0L, issuedAt);
+        } catch (Exception e) {
+            log.error("Error reading seat version for flight {}: {}", flightId, e.getMessage());
+            redisGuard.recordFallback(OPERATION);
+            return known != null ? known.version() : 0L;
+        }
+    }
+
+    /**
+     * Bumps the seat version of a flight.
+     *
+     * @param flightId The flight ID
+     * @return The new version, or -1 if it could not be incremented
+     */
+    public long incrementVersion(UUID flightId) {
+        long issuedAt = System.nanoTime();
+        try {
+            Long version = redisGuard.execute(() -> redisTemplate.opsForValue().increment(buildVersionKey(flightId)));
+            if (version == null) {
+                return -1L;
+            }
+            // The version of this change, even if a concurrent bump has already been seen
+            remember(flightId, version, issuedAt);
+            return version;
+        } catch (Exception e) {
+            log.error("Error incrementing seat version for flight {}: {}", flightId, e.getMessage());
+            redisGuard.recordFallback(OPERATION);
+            return -1L;
+        }
+    }
+
+    /**
+     * Records a seat change committed on another node, applies it to the local seat state index
+     * and pushes it to this node's seat map subscribers.
+     */
+    public void onRemoteSeatChange(SeatChange change) {
+        remember(change.flightId(), change.version(), Long.MIN_VALUE);
+        seatStateIndex.apply(change.flightId(), change.seatId(), change.status(), change.version());
+        seatStatusStreamService.broadcast(change);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatStatusChanged(SeatStatusChangedEvent event) {
+        long version = incrementVersion(event.flightId());
+
+        if (version < 0) {
+            // Version is unknown - drop the local read model rather than serve it under a stale version
+            seatStateIndex.evict(event.flightId());
+            return;
+        }
+
+        SeatChange change = new SeatChange(event.flightId(), version, event.seatId(), event.seatNumber(), event.newStatus());
+        seatStateIndex.apply(change.flightId(), change.seatId(), change.status(), change.version());
+        invalidationPublisher.publishSeatChange(change);
+        seatStatusStreamService.broadcast(change);
+    }
+
+    /**
+     * Records a version read from or bumped in Redis as the flight's known version.
+     * A lower version than the known one is either a reply overtaken by a newer one, which is ignored, or,
+     * if the call was issued after the known version was seen, a sign that Redis lost the key (restart,
+     * failover or eviction) and counts from scratch. The local seat state and its change journal are then
+     * tagged with the old count and would ignore every new change, so they are dropped together with this
+     * node's cached seat maps, and the new count replaces the known one; clients resync on their next read.
+     *
+     * @param issuedAtNanos When the Redis call was issued, or {@link Long#MIN_VALUE} for versions that
+     *                      did not come from a Redis call and never reset the known one
+     * @return The known version
+     */
+    private long remember(UUID flightId, long version, long issuedAtNanos) {
+        long now = System.nanoTime();
+        KnownVersion[] replaced = new KnownVersion[1];
+        KnownVersion known = knownVersions.compute(flightId, (id, previous) -> {
+            if (previous == null || version >= previous.version()) {
+                return new KnownVersion(version, now);
+            }
+            if (issuedAtNanos != Long.MIN_VALUE && issuedAtNanos - previous.observedAtNanos() > 0) {
+                replaced[0] = previous;
+                return new KnownVersion(version, now);
+            }
+            return previous;
+        });
+
+        if (replaced[0] != null) {
+            log.warn("Seat version of flight {} went back from {} to {}, resetting its seat state",
+                    flightId, replaced[0].version(), version);
+            seatStateIndex.evict(flightId);
+            cacheManager.evictLocalIf(SeatService.SEAT_MAP_CACHE, key -> SeatService.isSeatMapKey(key, flightId));
+        }
+        return known.version();
+    }
+
+    private String buildVersionKey(UUID flightId) {
+        return SEAT_VERSION_PREFIX + flightId.toString();
+    }
+}
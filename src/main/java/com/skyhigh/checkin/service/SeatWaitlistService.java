@@ -0,0 +1,317 @@
+package com.skyhigh.checkin.service;
+
+import com.skyhigh.checkin.config.CheckInConfig;
+import com.skyhigh.checkin.dto.response.SeatWaitlistResponse;
+import com.skyhigh.checkin.event.SeatStatusChangedEvent;
+import com.skyhigh.checkin.exception.*;
+import com.skyhigh.checkin.lock.LockRelease;
+import com.skyhigh.checkin.lock.SeatLock;
+import com.skyhigh.checkin.model.entity.CheckIn;
+import com.skyhigh.checkin.model.entity.Seat;
+import com.skyhigh.checkin.model.entity.SeatAuditLog;
+import com.skyhigh.checkin.model.entity.SeatWaitlistEntry;
+import com.skyhigh.checkin.model.enums.SeatStatus;
+import com.skyhigh.checkin.model.enums.WaitlistStatus;
+import com.skyhigh.checkin.repository.CheckInRepository;
+import com.skyhigh.checkin.repository.SeatAuditLogRepository;
+import com.skyhigh.checkin.repository.SeatRepository;
+import com.skyhigh.checkin.repository.SeatWaitlistRepository;
+import com.skyhigh.checkin.scheduler.SeatHoldExpiryWheel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * First-come, first-served waitlists for held seats. A passenger who finds a seat held can join its
+ * queue instead of retrying; whenever the hold is released or expires, the transaction that releases
+ * the seat hands it straight to the first waiting passenger whose check-in is still in progress, so
+ * the seat is never seen as available in between. Waiting passengers poll their entry by its ID.
+ * <p>
+ * Joining locks the seat row, which serialises it with every release: a release either sees the new
+ * entry, or the join sees the released seat and is turned away.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatWaitlistService {
+
+    private final SeatWaitlistRepository waitlistRepository;
+    private final SeatRepository seatRepository;
+    private final CheckInRepository checkInRepository;
+    private final SeatAuditLogRepository auditLogRepository;
+    private final SeatLockService seatLockService;
+    private final CheckInConfig checkInConfig;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Resolved lazily: the wheel expires holds through the scheduler, which hands seats over through this service
+    private final ObjectProvider<SeatHoldExpiryWheel> seatHoldExpiryWheel;
+
+    /**
+     * Adds a check-in to the waitlist of a held seat, or returns its existing entry.
+     *
+     * @param seatId      The held seat
+     * @param checkInId   The check-in the seat is wanted for
+     * @param passengerId The passenger making the request, who must own the check-in
+     * @return The waitlist entry; its ID is the token to poll
+     */
+    @Transactional
+    public SeatWaitlistResponse join(UUID seatId, UUID checkInId, UUID passengerId) {
+        log.info("Passenger {} joining waitlist for seat {} (check-in: {})", passengerId, seatId, checkInId);
+
+        CheckIn checkIn = checkInRepository.findByIdWithDetails(checkInId)
+                .orElseThrow(() -> new ResourceNotFoundException("Check-in", checkInId));
+        UUID flightId = checkIn.getBooking().getFlight().getId();
+        if (!checkIn.getBooking().getPassenger().getId().equals(passengerId)) {
+            throw new FlightAccessDeniedException(passengerId, flightId);
+        }
+        if (!checkIn.isActive()) {
+            throw new InvalidSeatStateException("Check-in is not in progress");
+        }
+
+        Seat seat = seatRepository.findByIdForUpdate(seatId)
+                .orElseThrow(() -> new ResourceNotFoundException("Seat", seatId));
+        if (!seat.getFlight().getId().equals(flightId)) {
+            throw new InvalidSeatStateException("Seat " + seat.getSeatNumber() + " is not on this check-in's flight");
+        }
+        if (seat.isConfirmed()) {
+            throw new SeatAlreadyConfirmedException(flightId, seat.getSeatNumber());
+        }
+        if (!seat.isHeld()) {
+            throw new InvalidSeatStateException("Seat " + seat.getSeatNumber() + " is available. Please hold it instead.");
+        }
+        if (seat.isHeldByPassenger(passengerId)) {
+            throw new InvalidSeatStateException("You already hold this seat");
+        }
+
+        Optional<SeatWaitlistEntry> existing = waitlistRepository.findWaiting(seatId, checkInId);
+        if (existing.isPresent()) {
+            return toResponse(existing.get());
+        }
+
+        if (waitlistRepository.countWaiting(seatId) >= checkInConfig.getSeatWaitlistMaxLength()) {
+            throw new InvalidSeatStateException("The waitlist for seat " + seat.getSeatNumber() + " is full");
+        }
+
+        SeatWaitlistEntry entry = waitlistRepository.save(SeatWaitlistEntry.builder()
+                .seatId(seatId)
+                .flightId(flightId)
+                .seatNumber(seat.getSeatNumber())
+                .checkInId(checkInId)
+                .passengerId(passengerId)
+                .build());
+
+        log.info("Passenger {} is waiting for seat {} (entry: {})", passengerId, seat.getSeatNumber(), entry.getId());
+        return toResponse(entry);
+    }
+
+    /**
+     * Gets a waitlist entry: its position while waiting, or the hold expiry once the seat was handed over.
+     *
+     * @param entryId     The entry ID returned when joining
+     * @param passengerId The passenger polling, who must own the entry
+     * @return The entry
+     */
+    @Transactional(readOnly = true)
+    public SeatWaitlistResponse getEntry(UUID entryId, UUID passengerId) {
+        return toResponse(findOwnEntry(entryId, passengerId));
+    }
+
+    /**
+     * Leaves a waitlist. Entries that are no longer waiting are left as they are.
+     *
+     * @param entryId     The entry ID returned when joining
+     * @param passengerId The passenger leaving, who must own the entry
+     */
+    @Transactional
+    public void leave(UUID entryId, UUID passengerId) {
+        SeatWaitlistEntry entry = findOwnEntry(entryId, passengerId);
+        if (entry.isWaiting()) {
+            entry.resolve(WaitlistStatus.CANCELLED, LocalDateTime.now());
+            waitlistRepository.save(entry);
+            log.info("Passenger {} left the waitlist for seat {}", passengerId, entry.getSeatNumber());
+        }
+    }
+
+    /**
+     * Hands a just released seat to the first waiting passenger whose check-in is still in progress.
+     * Must run in the transaction that released the seat. Entries of check-ins that ended are expired
+     * on the way; if the seat is not available after all, the queue is left untouched.
+     * The check-in's other waiting entries are cancelled, and a seat it held so far is released and handed on.
+     *
+     * @param seatId The released seat
+     * @return true if the seat was handed over
+     */
+    @Transactional
+    public boolean handOver(UUID seatId) {
+        // Seat changes made through the persistence context must be visible to the conditional hold below
+        seatRepository.flush();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<SeatWaitlistEntry> next;
+        while (!(next = waitlistRepository.findWaitingForUpdate(seatId, Limit.of(1))).isEmpty()) {
+            SeatWaitlistEntry entry = next.get(0);
+            CheckIn checkIn = checkInRepository.findById(entry.getCheckInId()).orElse(null);
+
+            if (checkIn == null || !checkIn.isActive()) {
+                entry.resolve(WaitlistStatus.EXPIRED, now);
+                waitlistRepository.save(entry);
+                continue;
+            }
+
+            LocalDateTime heldUntil = now.plusSeconds(checkInConfig.getSeatHoldDurationSeconds());
+            Optional<SeatRepository.SeatTransition> held =
+                    seatRepository.holdIfAvailable(seatId, entry.getPassengerId(), heldUntil, now);
+            if (held.isEmpty()) {
+                log.debug("Seat {} is not available, keeping its waitlist", seatId);
+                return false;
+            }
+
+            entry.setHeldUntil(heldUntil);
+            entry.resolve(WaitlistStatus.ASSIGNED, now);
+            waitlistRepository.save(entry);
+
+            // A check-in gets one seat: its waits for other seats end here
+            int cancelled = waitlistRepository.cancelOtherWaiting(entry.getCheckInId(), entry.getId(), now);
+            if (cancelled > 0) {
+                log.info("Cancelled {} other waitlist entries of check-in {}", cancelled, entry.getCheckInId());
+            }
+
+            Seat previousSeat = checkIn.getSeat();
+            checkIn.setSeat(seatRepository.getReferenceById(seatId));
+            checkIn.updateActivity();
+            checkInRepository.save(checkIn);
+
+            recordHandover(held.get(), entry.getPassengerId(), heldUntil);
+
+            // The seat the passenger held so far goes back at once, to its own waitlist first
+            if (previousSeat != null && !previousSeat.getId().equals(seatId)) {
+                releasePreviousSeat(previousSeat.getId(), entry.getPassengerId(), now);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Hands over each of a batch of seats released by hold expiry that has a waitlist, finding them with
+     * one query. Must run in the transaction that released the seats.
+     * The expired holders' seat locks of those seats are released first (each only if the expired holder
+     * still owns it), so the waiting passengers can take them: an expired hold has nothing left to protect,
+     * and its lock would otherwise only go once the releasing transaction has committed.
+     *
+     * @param released The released holds
+     * @return The number of seats handed over
+     */
+    @Transactional
+    public int handOver(Collection<SeatRepository.ReleasedHold> released) {
+        if (released.isEmpty()) {
+            return 0;
+        }
+
+        Set<UUID> waitlisted = new HashSet<>(waitlistRepository.findSeatIdsWithWaiting(
+                released.stream().map(SeatRepository.ReleasedHold::getId).toList()));
+        if (waitlisted.isEmpty()) {
+            return 0;
+        }
+
+        List<SeatRepository.ReleasedHold> handOvers = released.stream()
+                .filter(hold -> waitlisted.contains(hold.getId()))
+                .toList();
+        seatLockService.releaseLocks(handOvers.stream()
+                .filter(hold -> hold.getHeldByPassengerId() != null)
+                .map(hold -> new LockRelease(hold.getFlightId(), hold.getSeatNumber(), hold.getHeldByPassengerId()))
+                .toList());
+
+        int handedOver = 0;
+        for (SeatRepository.ReleasedHold hold : handOvers) {
+            if (handOver(hold.getId())) {
+                handedOver++;
+            }
+        }
+        return handedOver;
+    }
+
+    private void recordHandover(SeatRepository.SeatTransition held, UUID passengerId, LocalDateTime heldUntil) {
+        SeatLock lock = seatLockService.acquireOrExtendLock(held.getFlightId(), held.getSeatNumber(), passengerId,
+                checkInConfig.getSeatHoldDurationSeconds());
+        if (lock != null && !lock.isOwnedBy(passengerId)) {
+            // Releases drop the previous holder's lock before the handover, so this is a lock nobody released;
+            // the database hold is authoritative and keeps the fencing token it issued
+            log.warn("Seat lock {}:{} still owned by {} after release", held.getFlightId(), held.getSeatNumber(), lock.owner());
+        } else if (lock != null && lock.fencingToken() != held.getFencingToken()) {
+            seatRepository.recordFencingToken(held.getId(), passengerId, lock.fencingToken());
+        }
+        seatHoldExpiryWheel.getObject().schedule(held.getId(), heldUntil);
+
+        recordSeatChange(held, SeatStatus.HELD, passengerId, "Seat handed over from waitlist");
+        log.info("Seat {} handed over to waiting passenger {} until {}", held.getSeatNumber(), passengerId, heldUntil);
+    }
+
+    /**
+     * Releases the seat a passenger held for a check-in that was just handed another seat, the way a
+     * passenger choosing a different seat releases it, and hands it to its own waitlist.
+     * Nothing happens if the passenger no longer holds it.
+     */
+    private void releasePreviousSeat(UUID seatId, UUID passengerId, LocalDateTime now) {
+        SeatRepository.SeatTransition released =
+                seatRepository.releaseIfHeldBy(seatId, passengerId, null, now).orElse(null);
+        if (released == null) {
+            return;
+        }
+
+        log.info("Releasing previously held seat {} of passenger {}", released.getSeatNumber(), passengerId);
+        seatLockService.releaseLock(released.getFlightId(), released.getSeatNumber(), passengerId);
+        seatHoldExpiryWheel.getObject().cancel(seatId);
+        recordSeatChange(released, SeatStatus.AVAILABLE, passengerId,
+                "Seat released - passenger was handed a waitlisted seat");
+        handOver(seatId);
+    }
+
+    private void recordSeatChange(SeatRepository.SeatTransition seat, SeatStatus newStatus, UUID passengerId,
+                                  String reason) {
+        auditLogRepository.save(SeatAuditLog.builder()
+                .seatId(seat.getId())
+                .flightId(seat.getFlightId())
+                .seatNumber(seat.getSeatNumber())
+                .previousStatus(seat.getPreviousStatus().name())
+                .newStatus(newStatus.name())
+                .changedByPassengerId(passengerId)
+                .changeReason(reason)
+                .build());
+        eventPublisher.publishEvent(new SeatStatusChangedEvent(seat.getFlightId(), seat.getId(), seat.getSeatNumber(),
+                seat.getPreviousStatus(), newStatus));
+    }
+
+    private SeatWaitlistEntry findOwnEntry(UUID entryId, UUID passengerId) {
+        // Other passengers' entries are reported as missing rather than forbidden
+        return waitlistRepository.findById(entryId)
+                .filter(entry -> entry.getPassengerId().equals(passengerId))
+                .orElseThrow(() -> new ResourceNotFoundException("Waitlist entry", entryId));
+    }
+
+    private SeatWaitlistResponse toResponse(SeatWaitlistEntry entry) {
+        return SeatWaitlistResponse.builder()
+                .entryId(entry.getId())
+                .seatId(entry.getSeatId())
+                .seatNumber(entry.getSeatNumber())
+                .status(entry.getStatus())
+                .position(entry.isWaiting()
+                        ? waitlistRepository.countWaitingBefore(entry.getSeatId(), entry.getCreatedAt()) + 1
+                        : null)
+                .heldUntil(entry.getHeldUntil())
+                .joinedAt(entry.getCreatedAt())
+                .build();
+    }
+}
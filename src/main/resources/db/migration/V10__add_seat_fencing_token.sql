@@ -0,0 +1,2 @@
+-- V10: Record the fencing token of the current seat hold
+ALTER TABLE seats ADD COLUMN fencing_token BIGINT NOT NULL DEFAULT 0;
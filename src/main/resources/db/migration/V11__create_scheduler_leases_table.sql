@@ -0,0 +1,6 @@
+-- V11: Create scheduler_leases table for job leadership without Redis
+CREATE TABLE scheduler_leases (
+    job VARCHAR(100) PRIMARY KEY,
+    holder VARCHAR(36) NOT NULL,
+    lease_until TIMESTAMP NOT NULL
+);
@@ -0,0 +1,8 @@
+-- V12: Link bookings made together, so one passenger can hold seats for the whole group
+ALTER TABLE bookings ADD COLUMN group_reference VARCHAR(6);
+
+CREATE INDEX idx_bookings_group_reference ON bookings(group_reference);
+
+-- The two seeded bookings on flight SH101 travel together
+UPDATE bookings SET group_reference = 'ABC123'
+WHERE id IN ('b1111111-1111-1111-1111-111111111111', 'b2222222-2222-2222-2222-222222222222');
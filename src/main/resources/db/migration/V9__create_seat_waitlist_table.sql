@@ -0,0 +1,19 @@
+-- V9: Create seat_waitlist table for passengers queueing for a held seat
+CREATE TABLE seat_waitlist (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    seat_id UUID NOT NULL REFERENCES seats(id),
+    flight_id UUID NOT NULL,
+    seat_number VARCHAR(4) NOT NULL,
+    check_in_id UUID NOT NULL REFERENCES check_ins(id),
+    passenger_id UUID NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'WAITING',
+    held_until TIMESTAMP,
+    resolved_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT chk_waitlist_status CHECK (status IN ('WAITING', 'ASSIGNED', 'CANCELLED', 'EXPIRED'))
+);
+
+-- Queue order per seat; only waiting entries are ever read in order
+CREATE INDEX idx_seat_waitlist_queue ON seat_waitlist(seat_id, created_at) WHERE status = 'WAITING';
+CREATE UNIQUE INDEX idx_seat_waitlist_waiting_check_in ON seat_waitlist(seat_id, check_in_id) WHERE status = 'WAITING';
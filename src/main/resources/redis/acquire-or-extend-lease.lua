@@ -0,0 +1,16 @@
+-- Acquires a lease, or extends it if the caller already holds it.
+-- KEYS[1] lease key, ARGV[1] holder, ARGV[2] TTL in milliseconds
+-- Returns {holder, remaining TTL in milliseconds} as of the end of the call
+local holder = redis.call('GET', KEYS[1])
+
+if not holder then
+    redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+    return {ARGV[1], tonumber(ARGV[2])}
+end
+
+if holder == ARGV[1] then
+    redis.call('PEXPIRE', KEYS[1], ARGV[2])
+    return {holder, tonumber(ARGV[2])}
+end
+
+return {holder, redis.call('PTTL', KEYS[1])}
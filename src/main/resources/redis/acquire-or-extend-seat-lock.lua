@@ -0,0 +1,36 @@
+-- Acquires a seat lock, or extends it if the caller already owns it.
+-- KEYS[1] lock key, KEYS[2] fencing token counter of the seat, ARGV[1] owner, ARGV[2] TTL in milliseconds
+-- Returns {owner, remaining TTL in milliseconds, fencing token} as of the end of the call
+-- A new lock gets the next fencing token, which is at least the server time in microseconds so that
+-- tokens keep increasing when the counter is lost; the counter expires after a day without acquisitions
+local COUNTER_TTL_MILLIS = 86400000
+
+local function next_token(counter)
+    local time = redis.call('TIME')
+    local floor = tonumber(time[1]) * 1000000 + tonumber(time[2])
+    local token = tonumber(redis.call('GET', counter) or 0) + 1
+    if token < floor then
+        token = floor
+    end
+    redis.call('SET', counter, string.format('%d', token), 'PX', COUNTER_TTL_MILLIS)
+    return token
+end
+
+local owner = redis.call('GET', KEYS[1])
+
+if not owner then
+    redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+    return {ARGV[1], tonumber(ARGV[2]), next_token(KEYS[2])}
+end
+
+local token = tonumber(redis.call('GET', KEYS[2]) or 0)
+
+if owner == ARGV[1] then
+    redis.call('PEXPIRE', KEYS[1], ARGV[2])
+    if token == 0 then
+        token = next_token(KEYS[2])
+    end
+    return {owner, tonumber(ARGV[2]), token}
+end
+
+return {owner, redis.call('PTTL', KEYS[1]), token}
@@ -0,0 +1,54 @@
+-- Acquires or extends several seat locks, all or nothing.
+-- KEYS[i] lock key and KEYS[n + i] its fencing token counter for n locks, ARGV[1] TTL in milliseconds,
+-- ARGV[i + 1] owner of KEYS[i]
+-- Returns {owner, remaining TTL in milliseconds, fencing token} of each lock, flattened, as of the end of
+-- the call; nothing is changed unless every lock is free or already owned by its requested owner
+-- Fencing tokens are issued as in acquire-or-extend-seat-lock.lua
+local COUNTER_TTL_MILLIS = 86400000
+
+local function next_token(counter)
+    local time = redis.call('TIME')
+    local floor = tonumber(time[1]) * 1000000 + tonumber(time[2])
+    local token = tonumber(redis.call('GET', counter) or 0) + 1
+    if token < floor then
+        token = floor
+    end
+    redis.call('SET', counter, string.format('%d', token), 'PX', COUNTER_TTL_MILLIS)
+    return token
+end
+
+local count = #ARGV - 1
+local owners = {}
+local acquirable = true
+
+for i = 1, count do
+    owners[i] = redis.call('GET', KEYS[i])
+    if owners[i] and owners[i] ~= ARGV[i + 1] then
+        acquirable = false
+    end
+end
+
+local locks = {}
+
+for i = 1, count do
+    local counter = KEYS[count + i]
+    local token = tonumber(redis.call('GET', counter) or 0)
+
+    if not acquirable then
+        local owner = owners[i] or ARGV[i + 1]
+        local ttl = owners[i] and redis.call('PTTL', KEYS[i]) or 0
+        table.insert(locks, owner)
+        table.insert(locks, ttl)
+        table.insert(locks, token)
+    else
+        redis.call('SET', KEYS[i], ARGV[i + 1], 'PX', ARGV[1])
+        if not owners[i] or token == 0 then
+            token = next_token(counter)
+        end
+        table.insert(locks, ARGV[i + 1])
+        table.insert(locks, tonumber(ARGV[1]))
+        table.insert(locks, token)
+    end
+end
+
+return locks
@@ -0,0 +1,13 @@
+-- Deletes each seat lock that is still owned by the expected owner.
+-- KEYS[i] lock key, ARGV[i] expected owner of KEYS[i]
+-- Returns the number of locks deleted
+local released = 0
+
+for i, key in ipairs(KEYS) do
+    if redis.call('GET', key) == ARGV[i] then
+        redis.call('DEL', key)
+        released = released + 1
+    end
+end
+
+return released
@@ -0,0 +1,82 @@
+package com.skyhigh.checkin.cache;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedisGuardTest {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RedisGuard redisGuard = new RedisGuard(circuitBreakerRegistry, meterRegistry);
+
+    @Test
+    void execute_ShouldNotFailCalls_WhenManyRunConcurrently() throws Exception {
+        // Given
+        int callers = 200;
+        CountDownLatch allInFlight = new CountDownLatch(callers);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        // When
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> redisGuard.executeOrElse("seatMap", () -> {
+                    // Holds every call open until all of them are in flight at once
+                    allInFlight.countDown();
+                    await(allInFlight);
+                    return "redis";
+                }, () -> "fallback")));
+            }
+
+            // Then
+            for (Future<String> result : results) {
+                assertEquals("redis", result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        CircuitBreaker.Metrics metrics = circuitBreakerRegistry.circuitBreaker(RedisGuard.INSTANCE).getMetrics();
+        assertEquals(0, metrics.getNumberOfFailedCalls());
+        assertEquals(CircuitBreaker.State.CLOSED, redisGuard.getState());
+        assertNull(meterRegistry.find(RedisGuard.FALLBACKS_METRIC).counter());
+    }
+
+    @Test
+    void executeOrElse_ShouldUseFallbackAndCountIt_WhenRedisFails() {
+        // When
+        String result = redisGuard.executeOrElse("seatMap",
+                () -> {
+                    throw new RedisConnectionFailureException("Connection refused");
+                },
+                () -> "fallback");
+
+        // Then
+        assertEquals("fallback", result);
+        assertEquals(1, circuitBreakerRegistry.circuitBreaker(RedisGuard.INSTANCE).getMetrics().getNumberOfFailedCalls());
+        assertEquals(1.0, meterRegistry.get(RedisGuard.FALLBACKS_METRIC).tag("operation", "seatMap").counter().count());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Calls did not run concurrently");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.skyhigh.checkin.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(meterRegistry);
+    }
+
+    @Test
+    void load_ShouldRunLoaderOnce_ForConcurrentCallers() throws Exception {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // When
+            Future<String> first = executor.submit(() -> coalescer.load("seatMap", "flight:1", () -> {
+                loads.incrementAndGet();
+                loaderStarted.countDown();
+                await(release);
+                return "seat-map";
+            }));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+            Future<String> second = executor.submit(() -> coalescer.load("seatMap", "flight:1", () -> {
+                loads.incrementAndGet();
+                return "other";
+            }));
+            while (coalescedCount() == 0) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            // Then
+            assertEquals("seat-map", first.get(5, TimeUnit.SECONDS));
+            assertEquals("seat-map", second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+            assertEquals(1.0, meterRegistry.counter(RequestCoalescer.LOADS_METRIC,
+                    "cache", "seatMap", "result", "executed").count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void load_ShouldRunLoaderAgain_AfterPreviousLoadFailed() {
+        // Given
+        assertThrows(IllegalStateException.class, () -> coalescer.load("seatMap", "flight:1", () -> {
+            throw new IllegalStateException("database unavailable");
+        }));
+
+        // When
+        String value = coalescer.load("seatMap", "flight:1", () -> "seat-map");
+
+        // Then
+        assertEquals("seat-map", value);
+    }
+
+    private double coalescedCount() {
+        return meterRegistry.counter(RequestCoalescer.LOADS_METRIC, "cache", "seatMap", "result", "coalesced").count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.skyhigh.checkin.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+
+    @Mock
+    private CacheInvalidationPublisher invalidationPublisher;
+
+    private ConcurrentMapCache shared;
+    private SimpleMeterRegistry meterRegistry;
+    private RedisGuard redisGuard;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        shared = new ConcurrentMapCache("seatMap");
+        meterRegistry = new SimpleMeterRegistry();
+        redisGuard = new RedisGuard(CircuitBreakerRegistry.ofDefaults(), meterRegistry);
+        cache = new TwoLevelCache("seatMap", Caffeine.newBuilder().maximumSize(10).build(), shared,
+                invalidationPublisher, redisGuard);
+    }
+
+    @Test
+    void get_ShouldFillLocalTier_FromSharedTier() {
+        // Given
+        shared.put("flight:1", "seat-map");
+
+        // When
+        cache.get("flight:1");
+        shared.evict("flight:1");
+
+        // Then
+        assertEquals("seat-map", cache.get("flight:1", String.class));
+    }
+
+    @Test
+    void evictLocal_ShouldFallBackToSharedTier_WithoutBroadcasting() {
+        // Given
+        cache.put("flight:1", "old");
+        shared.put("flight:1", "new");
+
+        // When
+        cache.evictLocal("flight:1");
+
+        // Then
+        assertEquals("new", cache.get("flight:1", String.class));
+        verifyNoInteractions(invalidationPublisher);
+    }
+
+    @Test
+    void evict_ShouldClearBothTiers_AndBroadcast() {
+        // Given
+        cache.put("flight:1", "seat-map");
+
+        // When
+        cache.evict("flight:1");
+
+        // Then
+        assertNull(cache.get("flight:1"));
+        verify(invalidationPublisher).publishEvict("seatMap", "flight:1");
+    }
+
+    @Test
+    void cache_ShouldServeLocalTier_WhenSharedTierUnavailable() {
+        // Given
+        Cache unavailable = mock(Cache.class);
+        when(unavailable.get(any())).thenThrow(new RedisConnectionFailureException("Connection refused"));
+        doThrow(new RedisConnectionFailureException("Connection refused")).when(unavailable).put(any(), any());
+        TwoLevelCache degraded = new TwoLevelCache("seatMap", Caffeine.newBuilder().maximumSize(10).build(),
+                unavailable, invalidationPublisher, redisGuard);
+
+        // When
+        degraded.put("flight:1", "seat-map");
+
+        // Then
+        assertEquals("seat-map", degraded.get("flight:1", String.class));
+        assertNull(degraded.get("flight:2"));
+        assertEquals(2.0, meterRegistry.counter(RedisGuard.FALLBACKS_METRIC, "operation", "cache").count());
+    }
+}
@@ -0,0 +1,88 @@
+package com.skyhigh.checkin.config;
+
+import com.skyhigh.checkin.dto.response.SeatMapResponse;
+import com.skyhigh.checkin.model.enums.SeatClass;
+import com.skyhigh.checkin.model.enums.SeatStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatMapBinaryMessageConverterTest {
+
+    @Test
+    void encode_ShouldWriteLayoutAndPackedStatuses() throws IOException {
+        // Given
+        UUID flightId = UUID.randomUUID();
+        Map<SeatClass, List<SeatMapResponse.SeatInfo>> seatsByClass = new LinkedHashMap<>();
+        seatsByClass.put(SeatClass.FIRST, List.of(
+                seat("1A", SeatClass.FIRST, SeatStatus.CONFIRMED),
+                seat("1C", SeatClass.FIRST, SeatStatus.AVAILABLE)));
+        seatsByClass.put(SeatClass.ECONOMY, List.of(
+                seat("10A", SeatClass.ECONOMY, SeatStatus.HELD),
+                seat("10B", SeatClass.ECONOMY, SeatStatus.AVAILABLE),
+                seat("10C", SeatClass.ECONOMY, SeatStatus.CONFIRMED)));
+        SeatMapResponse seatMap = SeatMapResponse.builder()
+                .flightId(flightId)
+                .version(42)
+                .seatsByClass(seatsByClass)
+                .summary(SeatMapResponse.SeatSummary.builder().total(5).available(2).held(1).confirmed(2).build())
+                .build();
+
+        // When
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(SeatMapBinaryMessageConverter.encode(seatMap)));
+
+        // Then
+        assertEquals(SeatMapBinaryMessageConverter.FORMAT_VERSION, in.readByte());
+        assertEquals(flightId, new UUID(in.readLong(), in.readLong()));
+        assertEquals(42, in.readLong());
+        assertEquals(-1, in.readLong());
+        assertEquals(5, in.readInt());
+        assertEquals(2, in.readInt());
+        assertEquals(1, in.readInt());
+        assertEquals(2, in.readInt());
+
+        assertEquals(2, in.readByte());
+        assertEquals(SeatClass.FIRST.ordinal(), in.readByte());
+        assertEquals(2, in.readShort());
+        assertEquals("1A", readSeatNumber(in));
+        assertEquals("1C", readSeatNumber(in));
+        assertEquals(SeatClass.ECONOMY.ordinal(), in.readByte());
+        assertEquals(3, in.readShort());
+        assertEquals("10A", readSeatNumber(in));
+        assertEquals("10B", readSeatNumber(in));
+        assertEquals("10C", readSeatNumber(in));
+
+        int first = in.readUnsignedByte();
+        int second = in.readUnsignedByte();
+        assertEquals(SeatStatus.CONFIRMED.ordinal(), first & 0b11);
+        assertEquals(SeatStatus.AVAILABLE.ordinal(), (first >> 2) & 0b11);
+        assertEquals(SeatStatus.HELD.ordinal(), (first >> 4) & 0b11);
+        assertEquals(SeatStatus.AVAILABLE.ordinal(), (first >> 6) & 0b11);
+        assertEquals(SeatStatus.CONFIRMED.ordinal(), second & 0b11);
+        assertEquals(-1, in.read());
+    }
+
+    private SeatMapResponse.SeatInfo seat(String seatNumber, SeatClass seatClass, SeatStatus status) {
+        return SeatMapResponse.SeatInfo.builder()
+                .id(UUID.randomUUID())
+                .seatNumber(seatNumber)
+                .seatClass(seatClass)
+                .status(status)
+                .available(status == SeatStatus.AVAILABLE)
+                .build();
+    }
+
+    private String readSeatNumber(DataInputStream in) throws IOException {
+        byte[] seatNumber = new byte[in.readByte()];
+        in.readFully(seatNumber);
+        return new String(seatNumber);
+    }
+}
@@ -0,0 +1,86 @@
+package com.skyhigh.checkin.lock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalSeatLockBackendTest {
+
+    private LocalSeatLockBackend backend;
+    private UUID flightId;
+    private UUID passengerA;
+    private UUID passengerB;
+
+    @BeforeEach
+    void setUp() {
+        backend = new LocalSeatLockBackend();
+        flightId = UUID.randomUUID();
+        passengerA = UUID.randomUUID();
+        passengerB = UUID.randomUUID();
+    }
+
+    @Test
+    void acquireOrExtend_ShouldReportCurrentOwner_WhenLockedByAnotherPassenger() {
+        // Given
+        backend.acquireOrExtend(flightId, "12A", passengerA, 60000);
+
+        // When
+        SeatLock lock = backend.acquireOrExtend(flightId, "12A", passengerB, 60000);
+
+        // Then
+        assertFalse(lock.isOwnedBy(passengerB));
+        assertEquals(passengerA, lock.owner());
+        assertTrue(lock.ttlMillis() > 0 && lock.ttlMillis() <= 60000);
+    }
+
+    @Test
+    void acquireOrExtend_ShouldTakeOverLock_AfterItExpired() throws InterruptedException {
+        // Given
+        backend.acquireOrExtend(flightId, "12A", passengerA, 1);
+        Thread.sleep(5);
+
+        // When
+        SeatLock lock = backend.acquireOrExtend(flightId, "12A", passengerB, 60000);
+
+        // Then
+        assertTrue(lock.isOwnedBy(passengerB));
+    }
+
+    @Test
+    void acquireOrExtend_ShouldKeepFencingToken_WhenExtended_AndIssueLargerOneToNextOwner() {
+        // Given
+        SeatLock acquired = backend.acquireOrExtend(flightId, "12A", passengerA, 60000);
+
+        // When
+        SeatLock extended = backend.acquireOrExtend(flightId, "12A", passengerA, 60000);
+        SeatLock refused = backend.acquireOrExtend(flightId, "12A", passengerB, 60000);
+        backend.release(flightId, "12A", passengerA);
+        SeatLock takenOver = backend.acquireOrExtend(flightId, "12A", passengerB, 60000);
+
+        // Then
+        assertEquals(acquired.fencingToken(), extended.fencingToken());
+        assertEquals(acquired.fencingToken(), refused.fencingToken());
+        assertTrue(takenOver.fencingToken() > acquired.fencingToken());
+    }
+
+    @Test
+    void releaseAll_ShouldOnlyReleaseLocksStillOwnedByExpectedOwner() {
+        // Given
+        backend.acquireOrExtend(flightId, "12A", passengerA, 60000);
+        backend.acquireOrExtend(flightId, "12B", passengerB, 60000);
+
+        // When
+        int released = backend.releaseAll(List.of(
+                new LockRelease(flightId, "12A", passengerA),
+                new LockRelease(flightId, "12B", passengerA)));
+
+        // Then
+        assertEquals(1, released);
+        assertNull(backend.getOwner(flightId, "12A"));
+        assertEquals(passengerB, backend.getOwner(flightId, "12B"));
+    }
+}
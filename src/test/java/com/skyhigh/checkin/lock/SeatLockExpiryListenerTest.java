@@ -0,0 +1,84 @@
+package com.skyhigh.checkin.lock;
+
+import com.skyhigh.checkin.cache.RedisGuard;
+import com.skyhigh.checkin.scheduler.SeatHoldExpiryScheduler;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatLockExpiryListenerTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private SeatHoldExpiryScheduler seatHoldExpiryScheduler;
+
+    private SeatLockExpiryListener listener;
+
+    private final UUID flightId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        RedisGuard redisGuard = new RedisGuard(CircuitBreakerRegistry.ofDefaults(), new SimpleMeterRegistry());
+        listener = new SeatLockExpiryListener(redisTemplate, redisGuard, seatHoldExpiryScheduler);
+    }
+
+    @Test
+    void onMessage_ShouldReleaseSeat_WhenThisNodeClaimsTheExpiry() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+
+        // When
+        listener.onMessage(expired(RedisSeatLockBackend.buildLockKey(flightId, "12A")), null);
+
+        // Then
+        verify(seatHoldExpiryScheduler).releaseExpiredSeatHold(flightId, "12A");
+    }
+
+    @Test
+    void onMessage_ShouldSkip_WhenAnotherNodeClaimedTheExpiry() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+
+        // When
+        listener.onMessage(expired(RedisSeatLockBackend.buildLockKey(flightId, "12A")), null);
+
+        // Then
+        verifyNoInteractions(seatHoldExpiryScheduler);
+    }
+
+    @Test
+    void onMessage_ShouldIgnoreOtherKeys() {
+        // When
+        listener.onMessage(expired("seat:version:" + flightId), null);
+
+        // Then
+        verifyNoInteractions(redisTemplate, seatHoldExpiryScheduler);
+    }
+
+    private DefaultMessage expired(String key) {
+        return new DefaultMessage("__keyevent@0__:expired".getBytes(StandardCharsets.UTF_8),
+                key.getBytes(StandardCharsets.UTF_8));
+    }
+}
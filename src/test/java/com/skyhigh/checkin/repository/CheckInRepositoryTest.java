@@ -0,0 +1,75 @@
+package com.skyhigh.checkin.repository;
+
+import com.skyhigh.checkin.model.entity.Booking;
+import com.skyhigh.checkin.model.entity.CheckIn;
+import com.skyhigh.checkin.model.enums.CheckInStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the check-in repository's native statements against Postgres, with the schema and seed data
+ * applied by Flyway. Skipped when Docker is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class CheckInRepositoryTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    // Seeded by V8
+    private static final UUID JOHNS_BOOKING = UUID.fromString("b1111111-1111-1111-1111-111111111111");
+    private static final UUID JANES_BOOKING = UUID.fromString("b2222222-2222-2222-2222-222222222222");
+
+    @Autowired
+    private CheckInRepository checkInRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void expireSessions_ShouldReturnOnlyTheSessionsItExpired() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        CheckIn stale = checkIn(JOHNS_BOOKING, now.minusMinutes(1));
+        CheckIn renewed = checkIn(JANES_BOOKING, now.plusMinutes(5));
+
+        // When
+        List<UUID> expired = checkInRepository.expireSessions(List.of(stale.getId(), renewed.getId()), now);
+
+        // Then
+        assertEquals(List.of(stale.getId()), expired);
+        entityManager.clear();
+        assertEquals(CheckInStatus.EXPIRED, checkInRepository.findById(stale.getId()).orElseThrow().getStatus());
+        assertEquals(CheckInStatus.IN_PROGRESS, checkInRepository.findById(renewed.getId()).orElseThrow().getStatus());
+    }
+
+    private CheckIn checkIn(UUID bookingId, LocalDateTime expiresAt) {
+        return entityManager.persistAndFlush(CheckIn.builder()
+                .booking(entityManager.find(Booking.class, bookingId))
+                .expiresAt(expiresAt)
+                .build());
+    }
+}
@@ -0,0 +1,198 @@
+package com.skyhigh.checkin.repository;
+
+import com.skyhigh.checkin.model.entity.Seat;
+import com.skyhigh.checkin.model.enums.SeatStatus;
+import com.skyhigh.checkin.repository.SeatRepository.ReleasedHold;
+import com.skyhigh.checkin.repository.SeatRepository.SeatTransition;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the seat repository's native statements against Postgres, with the schema and seed data
+ * applied by Flyway. Skipped when Docker is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class SeatRepositoryTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    // Seeded by V8
+    private static final UUID FLIGHT_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID JOHN = UUID.fromString("aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa");
+    private static final UUID JANE = UUID.fromString("bbbbbbbb-bbbb-bbbb-bbbb-bbbbbbbbbbbb");
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void holdIfAvailable_ShouldIssueTokenToNewHolder_AndKeepItOnExtension() {
+        // Given
+        UUID seatId = seatId("1A");
+        LocalDateTime now = LocalDateTime.now();
+
+        // When
+        SeatTransition held = seatRepository.holdIfAvailable(seatId, JOHN, now.plusMinutes(2), now).orElseThrow();
+        SeatTransition extended = seatRepository.holdIfAvailable(seatId, JOHN, now.plusMinutes(4), now).orElseThrow();
+        boolean takenByOther = seatRepository.holdIfAvailable(seatId, JANE, now.plusMinutes(2), now).isPresent();
+
+        // Then
+        assertEquals(SeatStatus.AVAILABLE, held.getPreviousStatus());
+        assertEquals(FLIGHT_ID, held.getFlightId());
+        assertEquals(1L, held.getFencingToken());
+        assertEquals(SeatStatus.HELD, extended.getPreviousStatus());
+        assertEquals(1L, extended.getFencingToken());
+        assertFalse(takenByOther);
+    }
+
+    @Test
+    void holdIfAvailable_ShouldIssueNewToken_WhenTakingOverAnExpiredHold() {
+        // Given
+        UUID seatId = seatId("1C");
+        LocalDateTime now = LocalDateTime.now();
+        seatRepository.holdIfAvailable(seatId, JOHN, now.minusSeconds(1), now.minusMinutes(2));
+
+        // When
+        SeatTransition takenOver = seatRepository.holdIfAvailable(seatId, JANE, now.plusMinutes(2), now).orElseThrow();
+
+        // Then
+        assertEquals(SeatStatus.HELD, takenOver.getPreviousStatus());
+        assertEquals(2L, takenOver.getFencingToken());
+    }
+
+    @Test
+    void recordFencingToken_ShouldRaiseToken_AndRejectOlderOnes() {
+        // Given
+        UUID seatId = seatId("2A");
+        LocalDateTime now = LocalDateTime.now();
+        seatRepository.holdIfAvailable(seatId, JOHN, now.plusMinutes(2), now);
+
+        // When
+        int raised = seatRepository.recordFencingToken(seatId, JOHN, 50L);
+        int stale = seatRepository.recordFencingToken(seatId, JOHN, 49L);
+        int otherPassenger = seatRepository.recordFencingToken(seatId, JANE, 60L);
+
+        // Then
+        assertEquals(1, raised);
+        assertEquals(0, stale);
+        assertEquals(0, otherPassenger);
+    }
+
+    @Test
+    void confirmIfHeldBy_ShouldConfirmOnlyWithCurrentToken_AndLeaveEntityReloadable() {
+        // Given
+        UUID seatId = seatId("2C");
+        LocalDateTime now = LocalDateTime.now();
+        long token = seatRepository.holdIfAvailable(seatId, JOHN, now.plusMinutes(2), now).orElseThrow().getFencingToken();
+        Seat loadedBeforeConfirm = seatRepository.findById(seatId).orElseThrow();
+
+        // When
+        boolean confirmedWithStaleToken = seatRepository.confirmIfHeldBy(seatId, JOHN, token - 1, now).isPresent();
+        SeatTransition confirmed = seatRepository.confirmIfHeldBy(seatId, JOHN, token, now).orElseThrow();
+        entityManager.refresh(loadedBeforeConfirm);
+
+        // Then
+        assertFalse(confirmedWithStaleToken);
+        assertEquals(SeatStatus.HELD, confirmed.getPreviousStatus());
+        assertEquals("2C", confirmed.getSeatNumber());
+        assertEquals(SeatStatus.CONFIRMED, loadedBeforeConfirm.getStatus());
+        assertNull(loadedBeforeConfirm.getHeldByPassenger());
+    }
+
+    @Test
+    void confirmIfHeldBy_ShouldNotConfirmExpiredHold() {
+        // Given
+        UUID seatId = seatId("2D");
+        LocalDateTime now = LocalDateTime.now();
+        seatRepository.holdIfAvailable(seatId, JOHN, now.minusSeconds(1), now.minusMinutes(2));
+
+        // When & Then
+        assertTrue(seatRepository.confirmIfHeldBy(seatId, JOHN, null, now).isEmpty());
+    }
+
+    @Test
+    void releaseIfHeldBy_ShouldReleaseOnlyWithCurrentToken() {
+        // Given
+        UUID seatId = seatId("2F");
+        LocalDateTime now = LocalDateTime.now();
+        long token = seatRepository.holdIfAvailable(seatId, JOHN, now.plusMinutes(2), now).orElseThrow().getFencingToken();
+
+        // When
+        boolean releasedByOther = seatRepository.releaseIfHeldBy(seatId, JANE, null, now).isPresent();
+        boolean releasedWithStaleToken = seatRepository.releaseIfHeldBy(seatId, JOHN, token - 1, now).isPresent();
+        SeatTransition released = seatRepository.releaseIfHeldBy(seatId, JOHN, token, now).orElseThrow();
+
+        // Then
+        assertFalse(releasedByOther);
+        assertFalse(releasedWithStaleToken);
+        assertEquals(SeatStatus.HELD, released.getPreviousStatus());
+    }
+
+    @Test
+    void holdFirstAvailable_ShouldHoldBestRankedFreeCandidate() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        UUID taken = seatId("1D");
+        UUID next = seatId("1F");
+        seatRepository.holdIfAvailable(taken, JOHN, now.plusMinutes(2), now);
+
+        // When
+        SeatTransition held = seatRepository.holdFirstAvailable(taken + "," + next, JANE, now.plusMinutes(2), now)
+                .orElseThrow();
+
+        // Then
+        assertEquals(next, held.getId());
+        assertEquals(SeatStatus.AVAILABLE, held.getPreviousStatus());
+        assertEquals(1L, held.getFencingToken());
+    }
+
+    @Test
+    void releaseExpiredHolds_ShouldReleaseOnlyExpiredHolds() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        UUID expired = seatId("3A");
+        UUID live = seatId("3C");
+        seatRepository.holdIfAvailable(expired, JOHN, now.minusSeconds(1), now.minusMinutes(2));
+        seatRepository.holdIfAvailable(live, JANE, now.plusMinutes(2), now);
+
+        // When
+        List<ReleasedHold> byId = seatRepository.releaseExpiredHolds(List.of(expired, live), now);
+        List<ReleasedHold> sweep = seatRepository.releaseExpiredHolds(now, 10);
+
+        // Then
+        assertEquals(List.of(expired), byId.stream().map(ReleasedHold::getId).toList());
+        assertEquals(JOHN, byId.get(0).getHeldByPassengerId());
+        assertTrue(sweep.isEmpty());
+        assertTrue(seatRepository.releaseExpiredHold(FLIGHT_ID, "3C", now).isEmpty());
+    }
+
+    private UUID seatId(String seatNumber) {
+        return seatRepository.findByFlightIdAndSeatNumber(FLIGHT_ID, seatNumber).orElseThrow().getId();
+    }
+}
@@ -0,0 +1,186 @@
+package com.skyhigh.checkin.scheduler;
+
+import com.skyhigh.checkin.config.CheckInConfig;
+import com.skyhigh.checkin.lock.LockRelease;
+import com.skyhigh.checkin.model.enums.SeatStatus;
+import com.skyhigh.checkin.repository.CheckInRepository;
+import com.skyhigh.checkin.repository.CheckInRepository.ExpiredSession;
+import com.skyhigh.checkin.service.SeatLockService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.BeforeEach;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CheckInSessionExpirySchedulerTest {
+
+    @Mock
+    private CheckInRepository checkInRepository;
+
+    @Mock
+    private SeatLockService seatLockService;
+
+    @Mock
+    private CheckInConfig checkInConfig;
+
+    @Mock
+    private JobCoordinator jobCoordinator;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private CheckInSessionExpiryScheduler scheduler;
+
+    private final UUID flightId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void expireInactiveSessions_ShouldPageByLastId_AndReleaseHeldSeatLocks() {
+        // Given
+        UUID passengerId = UUID.randomUUID();
+        ExpiredSession first = expiredSession("1A", SeatStatus.HELD, passengerId);
+        ExpiredSession second = expiredSession(null, null, null);
+        ExpiredSession third = expiredSession("2C", SeatStatus.CONFIRMED, null);
+        when(checkInConfig.isExpirySweepsEnabled()).thenReturn(true);
+        when(jobCoordinator.acquireLeadership(eq("checkin-session-expiry"), any())).thenReturn(true);
+        when(checkInConfig.getSessionExpiryBatchSize()).thenReturn(2);
+        when(checkInRepository.findExpiredSessionsAfter(any(), eq(new UUID(0, 0)), eq(Limit.of(2))))
+                .thenReturn(List.of(first, second));
+        when(checkInRepository.findExpiredSessionsAfter(any(), eq(second.getId()), eq(Limit.of(2))))
+                .thenReturn(List.of(third));
+        when(checkInRepository.expireSessions(eq(List.of(first.getId(), second.getId())), any()))
+                .thenReturn(List.of(first.getId(), second.getId()));
+        when(checkInRepository.expireSessions(eq(List.of(third.getId())), any())).thenReturn(List.of(third.getId()));
+
+        // When
+        scheduler.expireInactiveSessions();
+
+        // Then
+        verify(checkInRepository).expireSessions(eq(List.of(first.getId(), second.getId())), any());
+        verify(checkInRepository).expireSessions(eq(List.of(third.getId())), any());
+        verify(seatLockService).releaseLocks(List.of(new LockRelease(flightId, "1A", passengerId)));
+        verify(seatLockService).releaseLocks(List.of());
+        verify(jobCoordinator).releaseLeadership("checkin-session-expiry");
+    }
+
+    @Test
+    void expireInactiveSessions_ShouldReleaseLocksAfterEachBatchCommits_AndKeepLocksOfFailedBatches() {
+        // Given
+        UUID failedHolder = UUID.randomUUID();
+        UUID expiredHolder = UUID.randomUUID();
+        ExpiredSession failed = expiredSession("1A", SeatStatus.HELD, failedHolder);
+        ExpiredSession expired = expiredSession("1B", SeatStatus.HELD, expiredHolder);
+        when(checkInConfig.isExpirySweepsEnabled()).thenReturn(true);
+        when(jobCoordinator.acquireLeadership(eq("checkin-session-expiry"), any())).thenReturn(true);
+        when(checkInConfig.getSessionExpiryBatchSize()).thenReturn(1);
+        when(checkInRepository.findExpiredSessionsAfter(any(), eq(new UUID(0, 0)), eq(Limit.of(1))))
+                .thenReturn(List.of(failed));
+        when(checkInRepository.findExpiredSessionsAfter(any(), eq(failed.getId()), eq(Limit.of(1))))
+                .thenReturn(List.of(expired));
+        when(checkInRepository.findExpiredSessionsAfter(any(), eq(expired.getId()), eq(Limit.of(1))))
+                .thenReturn(List.of());
+        when(checkInRepository.expireSessions(eq(List.of(failed.getId())), any()))
+                .thenThrow(new QueryTimeoutException("statement timeout"));
+        when(checkInRepository.expireSessions(eq(List.of(expired.getId())), any())).thenReturn(List.of(expired.getId()));
+
+        // When
+        scheduler.expireInactiveSessions();
+
+        // Then
+        InOrder inOrder = inOrder(transactionTemplate, seatLockService);
+        inOrder.verify(transactionTemplate, times(2)).execute(any());
+        inOrder.verify(seatLockService).releaseLocks(List.of(new LockRelease(flightId, "1B", expiredHolder)));
+        verify(seatLockService, never()).releaseLocks(List.of(new LockRelease(flightId, "1A", failedHolder)));
+        verify(jobCoordinator).releaseLeadership("checkin-session-expiry");
+    }
+
+    @Test
+    void expireInactiveSessions_ShouldKeepLocks_OfSessionsThatBecameActiveAgain() {
+        // Given
+        UUID activeHolder = UUID.randomUUID();
+        UUID expiredHolder = UUID.randomUUID();
+        ExpiredSession active = expiredSession("1A", SeatStatus.HELD, activeHolder);
+        ExpiredSession expired = expiredSession("1B", SeatStatus.HELD, expiredHolder);
+        when(checkInConfig.isExpirySweepsEnabled()).thenReturn(true);
+        when(jobCoordinator.acquireLeadership(eq("checkin-session-expiry"), any())).thenReturn(true);
+        when(checkInConfig.getSessionExpiryBatchSize()).thenReturn(5);
+        when(checkInRepository.findExpiredSessionsAfter(any(), eq(new UUID(0, 0)), eq(Limit.of(5))))
+                .thenReturn(List.of(active, expired));
+        when(checkInRepository.expireSessions(anyCollection(), any())).thenReturn(List.of(expired.getId()));
+
+        // When
+        scheduler.expireInactiveSessions();
+
+        // Then
+        verify(seatLockService).releaseLocks(List.of(new LockRelease(flightId, "1B", expiredHolder)));
+        verifyNoMoreInteractions(seatLockService);
+    }
+
+    @Test
+    void expireInactiveSessions_ShouldDoNothing_WhenAnotherNodeLeads() {
+        // Given
+        when(checkInConfig.isExpirySweepsEnabled()).thenReturn(true);
+        when(jobCoordinator.acquireLeadership(eq("checkin-session-expiry"), any())).thenReturn(false);
+
+        // When
+        scheduler.expireInactiveSessions();
+
+        // Then
+        verifyNoInteractions(checkInRepository, seatLockService, transactionTemplate);
+        verify(jobCoordinator, never()).releaseLeadership(any());
+    }
+
+    private ExpiredSession expiredSession(String seatNumber, SeatStatus seatStatus, UUID heldBy) {
+        UUID id = UUID.randomUUID();
+        return new ExpiredSession() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getBookingReference() {
+                return "SKY123";
+            }
+
+            @Override
+            public UUID getFlightId() {
+                return flightId;
+            }
+
+            @Override
+            public String getSeatNumber() {
+                return seatNumber;
+            }
+
+            @Override
+            public SeatStatus getSeatStatus() {
+                return seatStatus;
+            }
+
+            @Override
+            public UUID getHeldByPassengerId() {
+                return heldBy;
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.skyhigh.checkin.scheduler;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimingWheelTest {
+
+    private static final long TICK = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private HashedTimingWheel<String> wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new HashedTimingWheel<>(TICK, 8, 0);
+    }
+
+    @Test
+    void advance_ShouldExpireKey_WithinOneTickOfDeadline() {
+        // Given
+        wheel.schedule("1A", seconds(120));
+
+        // When
+        List<String> early = wheel.advance(seconds(120) - 1);
+        List<String> due = wheel.advance(seconds(120) + TICK);
+
+        // Then
+        assertTrue(early.isEmpty());
+        assertEquals(List.of("1A"), due);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_ShouldSkipCancelledAndRescheduledKeys() {
+        // Given
+        wheel.schedule("1A", seconds(1));
+        wheel.schedule("1B", seconds(1));
+        wheel.schedule("1C", seconds(1));
+
+        // When
+        wheel.cancel("1A");
+        wheel.schedule("1B", seconds(5));
+        List<String> first = wheel.advance(seconds(2));
+        List<String> second = wheel.advance(seconds(5));
+
+        // Then
+        assertEquals(List.of("1C"), first);
+        assertEquals(List.of("1B"), second);
+    }
+
+    @Test
+    void advance_ShouldExpireOverdueKey_OnNextTick() {
+        // Given
+        wheel.advance(seconds(10));
+
+        // When
+        wheel.schedule("1A", seconds(3));
+
+        // Then
+        assertEquals(List.of("1A"), wheel.advance(seconds(10) + TICK));
+    }
+
+    private static long seconds(long seconds) {
+        return TimeUnit.SECONDS.toNanos(seconds);
+    }
+}
@@ -0,0 +1,132 @@
+package com.skyhigh.checkin.scheduler;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PostgresJobCoordinatorTest {
+
+    private static final Duration LEASE = Duration.ofSeconds(90);
+
+    @Test
+    void acquireLeadership_ShouldSkipJobAndReturnConnection_WhenAnotherNodeHoldsTheLease() throws SQLException {
+        // Given
+        Connection connection = connectionAnswering(false, true);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        PostgresJobCoordinator coordinator = new PostgresJobCoordinator(dataSource);
+
+        // When
+        boolean leader = coordinator.acquireLeadership("seatHoldExpiry", LEASE);
+
+        // Then
+        assertFalse(leader);
+        verify(connection, never()).prepareStatement("SELECT pg_try_advisory_lock(?)");
+        verify(connection).close();
+    }
+
+    @Test
+    void acquireLeadership_ShouldSkipJobAndReturnConnection_WhenAPreviousRunStillHoldsTheLock() throws SQLException {
+        // Given
+        Connection connection = connectionAnswering(true, false);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        PostgresJobCoordinator coordinator = new PostgresJobCoordinator(dataSource);
+
+        // When
+        boolean leader = coordinator.acquireLeadership("seatHoldExpiry", LEASE);
+
+        // Then
+        assertFalse(leader);
+        verify(connection).close();
+    }
+
+    @Test
+    void releaseLeadership_ShouldUnlockAndReturnConnection_WhenTheRunEnds() throws SQLException {
+        // Given
+        Connection connection = connectionAnswering(true, true);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        PostgresJobCoordinator coordinator = new PostgresJobCoordinator(dataSource);
+
+        // When
+        boolean leader = coordinator.acquireLeadership("seatHoldExpiry", LEASE);
+        coordinator.releaseLeadership("seatHoldExpiry");
+
+        // Then
+        assertTrue(leader);
+        verify(connection).prepareStatement("SELECT pg_try_advisory_lock(?)");
+        verify(connection).prepareStatement("SELECT pg_advisory_unlock(?)");
+        verify(connection).close();
+    }
+
+    @Test
+    void acquireLeadership_ShouldKeepJobOnLeaderAcrossRuns_AgainstPostgres() {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is not available");
+
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:15-alpine"))) {
+            postgres.start();
+            PGSimpleDataSource dataSource = new PGSimpleDataSource();
+            dataSource.setUrl(postgres.getJdbcUrl());
+            dataSource.setUser(postgres.getUsername());
+            dataSource.setPassword(postgres.getPassword());
+            Flyway.configure().dataSource(dataSource).load().migrate();
+            PostgresJobCoordinator first = new PostgresJobCoordinator(dataSource);
+            PostgresJobCoordinator second = new PostgresJobCoordinator(dataSource);
+
+            // When
+            boolean firstLeads = first.acquireLeadership("seatHoldExpiry", LEASE);
+            boolean secondLeadsDuringRun = second.acquireLeadership("seatHoldExpiry", LEASE);
+            first.releaseLeadership("seatHoldExpiry");
+            boolean secondLeadsNextInterval = second.acquireLeadership("seatHoldExpiry", LEASE);
+            boolean firstRenews = first.acquireLeadership("seatHoldExpiry", LEASE);
+            first.releaseLeadership("seatHoldExpiry");
+            boolean secondLeadsOtherJob = second.acquireLeadership("sessionExpiry", LEASE);
+            second.releaseLeadership("sessionExpiry");
+            first.acquireLeadership("seatMapWarmup", Duration.ZERO);
+            first.releaseLeadership("seatMapWarmup");
+            boolean secondTakesOverExpiredLease = second.acquireLeadership("seatMapWarmup", LEASE);
+
+            // Then
+            assertTrue(firstLeads);
+            assertFalse(secondLeadsDuringRun);
+            assertFalse(secondLeadsNextInterval);
+            assertTrue(firstRenews);
+            assertTrue(secondLeadsOtherJob);
+            assertTrue(secondTakesOverExpiredLease);
+        }
+    }
+
+    private Connection connectionAnswering(boolean leaseClaimed, boolean locked) throws SQLException {
+        ResultSet leaseResult = mock(ResultSet.class);
+        when(leaseResult.next()).thenReturn(leaseClaimed);
+        PreparedStatement leaseStatement = mock(PreparedStatement.class);
+        when(leaseStatement.executeQuery()).thenReturn(leaseResult);
+
+        ResultSet lockResult = mock(ResultSet.class);
+        lenient().when(lockResult.next()).thenReturn(true);
+        lenient().when(lockResult.getBoolean(1)).thenReturn(locked, true);
+        PreparedStatement lockStatement = mock(PreparedStatement.class);
+        lenient().when(lockStatement.executeQuery()).thenReturn(lockResult);
+
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(startsWith("INSERT INTO scheduler_leases"))).thenReturn(leaseStatement);
+        lenient().when(connection.prepareStatement(startsWith("SELECT"))).thenReturn(lockStatement);
+        return connection;
+    }
+}
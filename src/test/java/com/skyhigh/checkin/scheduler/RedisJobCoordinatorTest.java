@@ -0,0 +1,73 @@
+package com.skyhigh.checkin.scheduler;
+
+import com.skyhigh.checkin.cache.RedisGuard;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RedisJobCoordinatorTest {
+
+    private final RedisGuard redisGuard = new RedisGuard(CircuitBreakerRegistry.ofDefaults(), new SimpleMeterRegistry());
+
+    @Test
+    void acquireLeadership_ShouldSkipJob_WhenRedisCannotBeReached() {
+        // Given
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("Connection refused"));
+        RedisJobCoordinator coordinator = new RedisJobCoordinator(redisTemplate, redisGuard);
+
+        // When
+        boolean leader = coordinator.acquireLeadership("seatHoldExpiry", Duration.ofSeconds(90));
+
+        // Then
+        assertFalse(leader);
+    }
+
+    @Test
+    void acquireLeadership_ShouldElectOneLeaderPerJob_AgainstRedis() {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is not available");
+
+        try (GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+                .withExposedPorts(6379)) {
+            redis.start();
+            LettuceConnectionFactory connectionFactory =
+                    new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+            connectionFactory.afterPropertiesSet();
+            try {
+                StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+                RedisJobCoordinator first = new RedisJobCoordinator(redisTemplate, redisGuard);
+                RedisJobCoordinator second = new RedisJobCoordinator(redisTemplate, redisGuard);
+                Duration lease = Duration.ofSeconds(90);
+
+                // When
+                boolean firstLeads = first.acquireLeadership("seatHoldExpiry", lease);
+                boolean secondLeads = second.acquireLeadership("seatHoldExpiry", lease);
+                boolean firstRenews = first.acquireLeadership("seatHoldExpiry", lease);
+                boolean secondLeadsOtherJob = second.acquireLeadership("sessionExpiry", lease);
+
+                // Then
+                assertTrue(firstLeads);
+                assertFalse(secondLeads);
+                assertTrue(firstRenews);
+                assertTrue(secondLeadsOtherJob);
+            } finally {
+                connectionFactory.destroy();
+            }
+        }
+    }
+}
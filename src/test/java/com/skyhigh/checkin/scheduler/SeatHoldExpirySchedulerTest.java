@@ -0,0 +1,216 @@
+package com.skyhigh.checkin.scheduler;
+
+import com.skyhigh.checkin.config.CheckInConfig;
+import com.skyhigh.checkin.event.SeatStatusChangedEvent;
+import com.skyhigh.checkin.lock.LockRelease;
+import com.skyhigh.checkin.repository.SeatAuditLogRepository;
+import com.skyhigh.checkin.repository.SeatRepository;
+import com.skyhigh.checkin.repository.SeatRepository.HoldDeadline;
+import com.skyhigh.checkin.repository.SeatRepository.ReleasedHold;
+import com.skyhigh.checkin.service.SeatLockService;
+import com.skyhigh.checkin.service.SeatWaitlistService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatHoldExpirySchedulerTest {
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private SeatAuditLogRepository auditLogRepository;
+
+    @Mock
+    private SeatLockService seatLockService;
+
+    @Mock
+    private SeatWaitlistService seatWaitlistService;
+
+    @Mock
+    private CheckInConfig checkInConfig;
+
+    @Mock
+    private JobCoordinator jobCoordinator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private SeatHoldExpiryScheduler scheduler;
+
+    private final UUID flightId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void releaseExpiredSeatHolds_ShouldSweepInBatches_UntilBatchIsNotFull() {
+        // Given
+        UUID passengerId = UUID.randomUUID();
+        when(checkInConfig.isExpirySweepsEnabled()).thenReturn(true);
+        when(jobCoordinator.acquireLeadership(eq("seat-hold-expiry"), any())).thenReturn(true);
+        when(checkInConfig.getSeatHoldExpiryBatchSize()).thenReturn(2);
+        when(seatRepository.releaseExpiredHolds(any(), eq(2)))
+                .thenReturn(List.of(releasedHold("1A", passengerId), releasedHold("1B", passengerId)))
+                .thenReturn(List.of(releasedHold("1C", null)));
+
+        // When
+        scheduler.releaseExpiredSeatHolds();
+
+        // Then
+        verify(seatRepository, times(2)).releaseExpiredHolds(any(), eq(2));
+        verify(auditLogRepository, times(2)).saveAll(anyList());
+        verify(eventPublisher, times(3)).publishEvent(any(SeatStatusChangedEvent.class));
+        verify(seatLockService).releaseLocks(List.of(
+                new LockRelease(flightId, "1A", passengerId), new LockRelease(flightId, "1B", passengerId)));
+        verify(seatLockService).releaseLocks(List.of());
+        verify(seatWaitlistService, times(2)).handOver(anyCollection());
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(jobCoordinator).releaseLeadership("seat-hold-expiry");
+    }
+
+    @Test
+    void releaseExpiredSeatHolds_ShouldReleaseLocksAfterBatchCommits_AndKeepThemWhenItRollsBack() {
+        // Given
+        UUID passengerId = UUID.randomUUID();
+        when(checkInConfig.isExpirySweepsEnabled()).thenReturn(true);
+        when(jobCoordinator.acquireLeadership(eq("seat-hold-expiry"), any())).thenReturn(true);
+        when(checkInConfig.getSeatHoldExpiryBatchSize()).thenReturn(1);
+        when(seatRepository.releaseExpiredHolds(any(), eq(1))).thenReturn(List.of(releasedHold("1A", passengerId)));
+        doReturn(1).doThrow(new QueryTimeoutException("statement timeout"))
+                .when(seatWaitlistService).handOver(anyCollection());
+
+        // When
+        assertThrows(QueryTimeoutException.class, () -> scheduler.releaseExpiredSeatHolds());
+
+        // Then
+        InOrder inOrder = inOrder(transactionTemplate, seatLockService);
+        inOrder.verify(transactionTemplate).execute(any());
+        inOrder.verify(seatLockService).releaseLocks(List.of(new LockRelease(flightId, "1A", passengerId)));
+        inOrder.verify(transactionTemplate).execute(any());
+        inOrder.verifyNoMoreInteractions();
+        verify(jobCoordinator).releaseLeadership("seat-hold-expiry");
+    }
+
+    @Test
+    void releaseExpiredSeatHolds_ShouldSkipSweep_WhenAnotherNodeLeadsTheJob() {
+        // Given
+        when(checkInConfig.isExpirySweepsEnabled()).thenReturn(true);
+        when(jobCoordinator.acquireLeadership(eq("seat-hold-expiry"), any())).thenReturn(false);
+
+        // When
+        scheduler.releaseExpiredSeatHolds();
+
+        // Then
+        verifyNoInteractions(seatRepository, auditLogRepository, seatLockService);
+    }
+
+    @Test
+    void releaseExpiredSeatHolds_ShouldSkipSweep_WhenSweepsAreDisabled() {
+        // Given
+        when(checkInConfig.isExpirySweepsEnabled()).thenReturn(false);
+
+        // When
+        scheduler.releaseExpiredSeatHolds();
+
+        // Then
+        verifyNoInteractions(jobCoordinator, seatRepository, seatLockService);
+    }
+
+    @Test
+    void releaseExpiredSeatHolds_ShouldDoNothing_WhenDueHoldsWereAlreadyResolved() {
+        // Given
+        List<UUID> due = List.of(UUID.randomUUID());
+        when(seatRepository.releaseExpiredHolds(eq(due), any())).thenReturn(List.of());
+
+        // When
+        Map<UUID, LocalDateTime> stillHeld = scheduler.releaseExpiredSeatHolds(due);
+
+        // Then
+        assertTrue(stillHeld.isEmpty());
+        verifyNoInteractions(auditLogRepository, eventPublisher, seatLockService);
+    }
+
+    @Test
+    void releaseExpiredSeatHolds_ShouldReturnDeadlines_OfDueSeatsStillHeld() {
+        // Given
+        ReleasedHold released = releasedHold("1A", UUID.randomUUID());
+        UUID skipped = UUID.randomUUID();
+        LocalDateTime heldUntil = LocalDateTime.now().minusSeconds(1);
+        List<UUID> due = List.of(released.getId(), skipped);
+        when(seatRepository.releaseExpiredHolds(eq(due), any())).thenReturn(List.of(released));
+        when(seatRepository.findHoldDeadlines(Set.of(skipped))).thenReturn(List.of(holdDeadline(skipped, heldUntil)));
+
+        // When
+        Map<UUID, LocalDateTime> stillHeld = scheduler.releaseExpiredSeatHolds(due);
+
+        // Then
+        assertEquals(Map.of(skipped, heldUntil), stillHeld);
+        verify(seatLockService).releaseLocks(anyList());
+    }
+
+    private HoldDeadline holdDeadline(UUID seatId, LocalDateTime heldUntil) {
+        return new HoldDeadline() {
+            @Override
+            public UUID getId() {
+                return seatId;
+            }
+
+            @Override
+            public LocalDateTime getHeldUntil() {
+                return heldUntil;
+            }
+        };
+    }
+
+    private ReleasedHold releasedHold(String seatNumber, UUID heldBy) {
+        UUID seatId = UUID.randomUUID();
+        return new ReleasedHold() {
+            @Override
+            public UUID getId() {
+                return seatId;
+            }
+
+            @Override
+            public UUID getFlightId() {
+                return flightId;
+            }
+
+            @Override
+            public String getSeatNumber() {
+                return seatNumber;
+            }
+
+            @Override
+            public UUID getHeldByPassengerId() {
+                return heldBy;
+            }
+        };
+    }
+}
@@ -0,0 +1,106 @@
+package com.skyhigh.checkin.scheduler;
+
+import com.skyhigh.checkin.config.CheckInConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SeatHoldExpiryWheelTest {
+
+    private final SeatHoldExpiryScheduler seatHoldExpiryScheduler = mock(SeatHoldExpiryScheduler.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SeatHoldExpiryWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        CheckInConfig checkInConfig = new CheckInConfig();
+        checkInConfig.setSeatHoldWheelTickMillis(1);
+        wheel = new SeatHoldExpiryWheel(checkInConfig, seatHoldExpiryScheduler, meterRegistry);
+    }
+
+    @Test
+    void tick_ShouldRescheduleDueHolds_ThatAreStillHeld() {
+        // Given
+        UUID released = UUID.randomUUID();
+        UUID extended = UUID.randomUUID();
+        wheel.schedule(released, LocalDateTime.now().minusSeconds(1));
+        wheel.schedule(extended, LocalDateTime.now().minusSeconds(1));
+        when(seatHoldExpiryScheduler.releaseExpiredSeatHolds(anyCollection()))
+                .thenReturn(Map.of(extended, LocalDateTime.now().plusMinutes(2)));
+
+        // When
+        wheel.tick();
+        wheel.tick();
+
+        // Then
+        verify(seatHoldExpiryScheduler).releaseExpiredSeatHolds(argThat(due -> due.containsAll(List.of(released, extended))));
+        assertEquals(1.0, scheduledHolds());
+    }
+
+    @Test
+    void tick_ShouldRetryDueHolds_WhenReleasingFails() {
+        // Given
+        UUID seatId = UUID.randomUUID();
+        wheel.schedule(seatId, LocalDateTime.now().minusSeconds(1));
+        when(seatHoldExpiryScheduler.releaseExpiredSeatHolds(anyCollection()))
+                .thenThrow(new IllegalStateException("connection refused"));
+
+        // When
+        wheel.tick();
+
+        // Then
+        assertEquals(1.0, scheduledHolds());
+    }
+
+    @Test
+    void schedule_ShouldRegisterHold_OnlyOnceTheTransactionCommits() {
+        // Given
+        UUID seatId = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            wheel.schedule(seatId, LocalDateTime.now().plusMinutes(2));
+
+            // Then
+            assertEquals(0.0, scheduledHolds());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(1.0, scheduledHolds());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void cancel_ShouldKeepHold_WhenTheTransactionRollsBack() {
+        // Given
+        UUID seatId = UUID.randomUUID();
+        wheel.schedule(seatId, LocalDateTime.now().plusMinutes(2));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            wheel.cancel(seatId);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertEquals(1.0, scheduledHolds());
+    }
+
+    private double scheduledHolds() {
+        return meterRegistry.get("skyhigh.seat.holds.scheduled").gauge().value();
+    }
+}
@@ -0,0 +1,181 @@
+package com.skyhigh.checkin.service;
+
+import com.skyhigh.checkin.model.entity.Flight;
+import com.skyhigh.checkin.model.entity.Seat;
+import com.skyhigh.checkin.model.enums.SeatClass;
+import com.skyhigh.checkin.model.enums.SeatPosition;
+import com.skyhigh.checkin.model.enums.SeatStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightSeatStateTest {
+
+    private UUID flightId;
+    private Flight flight;
+    private List<Seat> seats;
+
+    @BeforeEach
+    void setUp() {
+        flightId = UUID.randomUUID();
+        flight = Flight.builder().id(flightId).flightNumber("SH101").build();
+        seats = new ArrayList<>();
+    }
+
+    @Test
+    void findSeatBlocks_ShouldRankSameSideOfAisleFirst_ThenNearestRow() {
+        // Given - row 9 only has C and D free, row 10 has D E F free
+        addRow(9, "ABCDEF", SeatClass.ECONOMY, Set.of("C", "D"));
+        addRow(10, "ABCDEF", SeatClass.ECONOMY, Set.of("D", "E", "F"));
+        FlightSeatState state = FlightSeatState.of(flightId, 1, seats, 16);
+
+        // When
+        List<SeatBlock> blocks = state.findSeatBlocks(SeatClass.ECONOMY, 2, 5);
+
+        // Then
+        assertEquals(List.of(List.of("10D", "10E"), List.of("10E", "10F"), List.of("9C", "9D")),
+                blocks.stream().map(SeatBlock::seatNumbers).toList());
+        assertFalse(blocks.get(0).acrossAisle());
+        assertTrue(blocks.get(2).acrossAisle());
+    }
+
+    @Test
+    void findSeatBlocks_ShouldTreatSeatsAroundMissingLettersAsAdjacent() {
+        // Given - business rows are laid out A C | D F
+        addRow(3, "ACDF", SeatClass.BUSINESS, Set.of("A", "C", "F"));
+        FlightSeatState state = FlightSeatState.of(flightId, 1, seats, 16);
+
+        // When
+        List<SeatBlock> blocks = state.findSeatBlocks(SeatClass.BUSINESS, 2, 5);
+
+        // Then
+        assertEquals(1, blocks.size());
+        assertEquals(List.of("3A", "3C"), blocks.get(0).seatNumbers());
+        assertEquals(3, blocks.get(0).row());
+    }
+
+    @Test
+    void findSeatBlocks_ShouldFollowAppliedStatusChanges() {
+        // Given
+        addRow(12, "ABCDEF", SeatClass.ECONOMY, Set.of("A", "B", "C"));
+        FlightSeatState state = FlightSeatState.of(flightId, 1, seats, 16);
+        Seat seat12B = seats.get(1);
+
+        // When
+        state.apply(seat12B.getId(), SeatStatus.HELD, 2);
+        List<SeatBlock> whileHeld = state.findSeatBlocks(SeatClass.ECONOMY, 2, 5);
+        state.apply(seat12B.getId(), SeatStatus.AVAILABLE, 3);
+        List<SeatBlock> afterRelease = state.findSeatBlocks(SeatClass.ECONOMY, 3, 5);
+
+        // Then
+        assertTrue(whileHeld.isEmpty());
+        assertEquals(1, afterRelease.size());
+        assertEquals(List.of(seats.get(0).getId(), seat12B.getId(), seats.get(2).getId()),
+                afterRelease.get(0).seatIds());
+    }
+
+    @Test
+    void findSeatBlocks_ShouldStopAtLimit_AndIgnoreOtherClasses() {
+        // Given
+        addRow(1, "ACDF", SeatClass.FIRST, Set.of("A", "C", "D", "F"));
+        for (int row = 9; row <= 33; row++) {
+            addRow(row, "ABCDEF", SeatClass.ECONOMY, Set.of("A", "B", "C", "D", "E", "F"));
+        }
+        FlightSeatState state = FlightSeatState.of(flightId, 1, seats, 16);
+
+        // When
+        List<SeatBlock> blocks = state.findSeatBlocks(SeatClass.ECONOMY, 3, 4);
+
+        // Then
+        assertEquals(List.of(List.of("9A", "9B", "9C"), List.of("9D", "9E", "9F"),
+                        List.of("10A", "10B", "10C"), List.of("10D", "10E", "10F")),
+                blocks.stream().map(SeatBlock::seatNumbers).toList());
+        assertTrue(state.findSeatBlocks(SeatClass.FIRST, 5, 4).isEmpty());
+    }
+
+    @Test
+    void rankAvailableSeats_ShouldPreferPosition_AndAssignMiddleSeatsLast() {
+        // Given
+        addRow(9, "ABCDEF", SeatClass.ECONOMY, Set.of("B", "C"));
+        addRow(10, "ABCDEF", SeatClass.ECONOMY, Set.of("E", "F"));
+        FlightSeatState state = FlightSeatState.of(flightId, 1, seats, 16);
+
+        // When
+        List<UUID> window = state.rankAvailableSeats(
+                new SeatPreferences(SeatClass.ECONOMY, SeatPosition.WINDOW, true, true), 10);
+        List<UUID> rearFirst = state.rankAvailableSeats(
+                new SeatPreferences(SeatClass.ECONOMY, null, false, false), 2);
+
+        // Then - 10F window, 9C aisle, then the middle seats 9B and 10E
+        assertEquals(List.of("10F", "9C", "9B", "10E"), seatNumbers(window));
+        assertEquals(List.of("10E", "10F"), seatNumbers(rearFirst));
+    }
+
+    @Test
+    void findSeatBlocks_ShouldDeriveAisleFromCabinLayout() {
+        // Given - a regional cabin laid out A B | C D, with row 2 missing seat A
+        addRow(1, "ABCD", SeatClass.ECONOMY, Set.of("B", "C"));
+        addRow(2, "BCD", SeatClass.ECONOMY, Set.of("C", "D"));
+        FlightSeatState state = FlightSeatState.of(flightId, 1, seats, 16);
+
+        // When
+        List<SeatBlock> blocks = state.findSeatBlocks(SeatClass.ECONOMY, 2, 5);
+        List<UUID> aisle = state.rankAvailableSeats(
+                new SeatPreferences(SeatClass.ECONOMY, SeatPosition.AISLE, false, true), 10);
+
+        // Then - 2C 2D stays on one side; 1B 1C straddles the aisle
+        assertEquals(List.of(List.of("2C", "2D"), List.of("1B", "1C")),
+                blocks.stream().map(SeatBlock::seatNumbers).toList());
+        assertFalse(blocks.get(0).acrossAisle());
+        assertTrue(blocks.get(1).acrossAisle());
+        assertEquals(List.of("1B", "1C", "2C", "2D"), seatNumbers(aisle));
+    }
+
+    @Test
+    void continueJournal_ShouldKeepDeltasAcrossReload_AtSameVersion() {
+        // Given
+        addRow(12, "ABCDEF", SeatClass.ECONOMY, Set.of("A", "B", "C"));
+        FlightSeatState before = FlightSeatState.of(flightId, 1, seats, 16);
+        before.apply(seats.get(0).getId(), SeatStatus.HELD, 2);
+        seats.get(0).setStatus(SeatStatus.HELD);
+
+        // When
+        FlightSeatState reloaded = FlightSeatState.of(flightId, 2, seats, 16);
+        boolean carried = reloaded.continueJournal(before);
+        FlightSeatState reloadedLater = FlightSeatState.of(flightId, 3, seats, 16);
+        boolean carriedAcrossVersions = reloadedLater.continueJournal(reloaded);
+
+        // Then
+        assertTrue(carried);
+        assertEquals(List.of(seats.get(0).getId()),
+                reloaded.toSeatMapDelta(1).getSeatsByClass().get(SeatClass.ECONOMY).stream()
+                        .map(seat -> seat.getId()).toList());
+        assertFalse(carriedAcrossVersions);
+        assertNull(reloadedLater.toSeatMapDelta(2));
+    }
+
+    private List<String> seatNumbers(List<UUID> seatIds) {
+        return seatIds.stream()
+                .map(id -> seats.stream().filter(seat -> seat.getId().equals(id)).findFirst().orElseThrow().getSeatNumber())
+                .toList();
+    }
+
+    private void addRow(int row, String letters, SeatClass seatClass, Set<String> available) {
+        for (char letter : letters.toCharArray()) {
+            String seatLetter = String.valueOf(letter);
+            seats.add(Seat.builder()
+                    .id(UUID.randomUUID())
+                    .flight(flight)
+                    .seatNumber(row + seatLetter)
+                    .seatClass(seatClass)
+                    .status(available.contains(seatLetter) ? SeatStatus.AVAILABLE : SeatStatus.CONFIRMED)
+                    .build());
+        }
+    }
+}
@@ -1,30 +1,59 @@
 package com.skyhigh.checkin.service;
 
+import com.skyhigh.checkin.cache.RequestCoalescer;
+import com.skyhigh.checkin.config.CacheConfig;
 import com.skyhigh.checkin.config.CheckInConfig;
+import com.skyhigh.checkin.dto.response.SeatGroupHoldResponse;
+import com.skyhigh.checkin.dto.response.SeatHoldResponse;
 import com.skyhigh.checkin.dto.response.SeatMapResponse;
+import com.skyhigh.checkin.exception.FlightAccessDeniedException;
+import com.skyhigh.checkin.exception.InvalidSeatStateException;
 import com.skyhigh.checkin.exception.ResourceNotFoundException;
+import com.skyhigh.checkin.exception.SeatAlreadyConfirmedException;
+import com.skyhigh.checkin.exception.SeatAlreadyHeldException;
+import com.skyhigh.checkin.exception.SeatGroupUnavailableException;
+import com.skyhigh.checkin.exception.SeatHoldExpiredException;
+import com.skyhigh.checkin.exception.SeatHoldSupersededException;
+import com.skyhigh.checkin.lock.LockClaim;
+import com.skyhigh.checkin.lock.LockRelease;
+import com.skyhigh.checkin.lock.SeatLock;
+import com.skyhigh.checkin.model.entity.Booking;
+import com.skyhigh.checkin.model.entity.CheckIn;
 import com.skyhigh.checkin.model.entity.Flight;
+import com.skyhigh.checkin.model.entity.Passenger;
 import com.skyhigh.checkin.model.entity.Seat;
+import com.skyhigh.checkin.model.enums.CheckInStatus;
 import com.skyhigh.checkin.model.enums.FlightStatus;
 import com.skyhigh.checkin.model.enums.SeatClass;
+import com.skyhigh.checkin.model.enums.SeatPosition;
 import com.skyhigh.checkin.model.enums.SeatStatus;
 import com.skyhigh.checkin.repository.CheckInRepository;
-import com.skyhigh.checkin.repository.PassengerRepository;
 import com.skyhigh.checkin.repository.SeatAuditLogRepository;
 import com.skyhigh.checkin.repository.SeatRepository;
+import com.skyhigh.checkin.event.SeatStatusChangedEvent;
+import com.skyhigh.checkin.scheduler.SeatHoldExpiryWheel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,9 +62,6 @@ class SeatServiceTest {
     @Mock
     private SeatRepository seatRepository;
 
-    @Mock
-    private PassengerRepository passengerRepository;
-
     @Mock
     private CheckInRepository checkInRepository;
 
@@ -48,6 +74,30 @@ class SeatServiceTest {
     @Mock
     private CheckInConfig checkInConfig;
 
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(new SimpleMeterRegistry());
+
+    @Spy
+    private SeatStateIndex seatStateIndex = new SeatStateIndex(new CheckInConfig(), new CacheConfig(), requestCoalescer);
+
+    @Mock
+    private SeatVersionService seatVersionService;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager();
+
+    @Mock
+    private SeatHoldExpiryWheel seatHoldExpiryWheel;
+
+    @Mock
+    private SeatWaitlistService seatWaitlistService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private SeatService seatService;
 
@@ -117,5 +167,480 @@ class SeatServiceTest {
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> seatService.getSeatMap(flightId));
     }
-}
 
+    @Test
+    void getSeatMap_ShouldServeFromIndex_AfterSeatStatusChange() {
+        // Given
+        List<Seat> seats = Arrays.asList(seat1, seat2);
+        when(seatRepository.findByFlightIdOrderBySeatClassAndNumber(flightId)).thenReturn(seats);
+        seatService.getSeatMap(flightId);
+
+        // When
+        seatStateIndex.apply(flightId, seat1.getId(), SeatStatus.HELD, 1L);
+        when(seatVersionService.currentVersion(flightId)).thenReturn(1L);
+        SeatMapResponse response = seatService.getSeatMap(flightId);
+
+        // Then
+        assertEquals(0, response.getSummary().getAvailable());
+        assertEquals(2, response.getSummary().getHeld());
+        verify(seatRepository, times(1)).findByFlightIdOrderBySeatClassAndNumber(flightId);
+    }
+
+    @Test
+    void getSeatMap_ShouldShareSeatStateLoad_AndFillSharedCache() {
+        // Given
+        when(seatRepository.findByFlightIdOrderBySeatClassAndNumber(flightId)).thenReturn(Arrays.asList(seat1, seat2));
+
+        // When
+        SeatMapResponse response = seatService.getSeatMap(flightId);
+        Map<String, UUID> seatIds = seatService.getSeatIdIndex(flightId);
+
+        // Then
+        assertEquals(2, response.getSummary().getTotal());
+        assertEquals(seat1.getId(), seatIds.get("1A"));
+        assertNotNull(cacheManager.getCache(SeatService.SEAT_MAP_CACHE).get(SeatService.seatMapKey(flightId, 0L)));
+        verify(seatRepository, times(1)).findByFlightIdOrderBySeatClassAndNumber(flightId);
+    }
+
+    @Test
+    void getSeatMap_ShouldUseCachedEntry_WhenIndexIsBehindVersion() {
+        // Given
+        SeatMapResponse cached = SeatMapResponse.builder().flightId(flightId).build();
+        cacheManager.getCache(SeatService.SEAT_MAP_CACHE).put(flightId + ":7", cached);
+        when(seatVersionService.currentVersion(flightId)).thenReturn(7L);
+
+        // When
+        SeatMapResponse response = seatService.getSeatMap(flightId);
+
+        // Then
+        assertSame(cached, response);
+        verify(seatRepository, never()).findByFlightIdOrderBySeatClassAndNumber(flightId);
+    }
+
+    @Test
+    void getSeatMapChanges_ShouldReturnOnlyChangedSeats_SinceVersion() {
+        // Given
+        when(seatRepository.findByFlightIdOrderBySeatClassAndNumber(flightId)).thenReturn(Arrays.asList(seat1, seat2));
+        seatService.getSeatMap(flightId);
+        seatStateIndex.apply(flightId, seat1.getId(), SeatStatus.HELD, 1L);
+        when(seatVersionService.currentVersion(flightId)).thenReturn(1L);
+
+        // When
+        SeatMapResponse response = seatService.getSeatMapChanges(flightId, 0L);
+
+        // Then
+        assertEquals(1L, response.getVersion());
+        assertEquals(0L, response.getSinceVersion());
+        List<SeatMapResponse.SeatInfo> changed = response.getSeatsByClass().get(SeatClass.FIRST);
+        assertEquals(1, changed.size());
+        assertEquals(seat1.getId(), changed.get(0).getId());
+        assertEquals(SeatStatus.HELD, changed.get(0).getStatus());
+    }
+
+    @Test
+    void holdSeat_ShouldThrowException_WhenLockOwnedByAnotherPassenger() {
+        // Given
+        UUID passengerId = UUID.randomUUID();
+        UUID checkInId = UUID.randomUUID();
+        when(checkInRepository.findById(checkInId)).thenReturn(Optional.of(CheckIn.builder().id(checkInId).build()));
+        when(seatRepository.holdIfAvailable(eq(seat1.getId()), eq(passengerId), any(), any()))
+                .thenReturn(Optional.of(transition(seat1, SeatStatus.AVAILABLE)));
+        when(seatLockService.acquireOrExtendLock(eq(flightId), eq("1A"), eq(passengerId), anyInt()))
+                .thenReturn(new SeatLock(UUID.randomUUID(), 30000, 7L));
+
+        // When & Then
+        assertThrows(SeatAlreadyHeldException.class, () -> seatService.holdSeat(seat1.getId(), passengerId, checkInId));
+        verify(checkInRepository, never()).save(any());
+    }
+
+    @Test
+    void holdSeat_ShouldHoldWithSingleUpdate_WhenSeatAvailable() {
+        // Given
+        UUID passengerId = UUID.randomUUID();
+        UUID checkInId = UUID.randomUUID();
+        CheckIn checkIn = CheckIn.builder().id(checkInId).build();
+        seat1.setFencingToken(1L);
+        when(checkInConfig.getSeatHoldDurationSeconds()).thenReturn(120);
+        when(checkInRepository.findById(checkInId)).thenReturn(Optional.of(checkIn));
+        when(seatRepository.holdIfAvailable(eq(seat1.getId()), eq(passengerId), any(), any()))
+                .thenReturn(Optional.of(transition(seat1, SeatStatus.AVAILABLE)));
+        when(seatRepository.getReferenceById(seat1.getId())).thenReturn(seat1);
+        when(seatLockService.acquireOrExtendLock(flightId, "1A", passengerId, 120))
+                .thenReturn(new SeatLock(passengerId, 120000, 1L));
+
+        // When
+        SeatHoldResponse response = seatService.holdSeat(seat1.getId(), passengerId, checkInId);
+
+        // Then
+        assertEquals(SeatStatus.HELD, response.getStatus());
+        assertTrue(response.getHeldUntil().isAfter(LocalDateTime.now().plusSeconds(110)));
+        assertSame(seat1, checkIn.getSeat());
+        assertEquals(1L, response.getFencingToken());
+        verify(seatRepository, never()).findById(any());
+        verify(seatRepository, never()).save(any());
+        verify(seatRepository, never()).recordFencingToken(any(), any(), anyLong());
+        verify(seatHoldExpiryWheel).schedule(eq(seat1.getId()), eq(response.getHeldUntil()));
+    }
+
+    @Test
+    void holdSeat_ShouldHoldWithDatabaseOnly_WhenLockBackendUnavailable() {
+        // Given
+        UUID passengerId = UUID.randomUUID();
+        UUID checkInId = UUID.randomUUID();
+        when(checkInRepository.findById(checkInId)).thenReturn(Optional.of(CheckIn.builder().id(checkInId).build()));
+        when(seatRepository.holdIfAvailable(eq(seat1.getId()), eq(passengerId), any(), any()))
+                .thenReturn(Optional.of(transition(seat1, SeatStatus.AVAILABLE)));
+        when(seatRepository.getReferenceById(seat1.getId())).thenReturn(seat1);
+        when(seatLockService.acquireOrExtendLock(eq(flightId), eq("1A"), eq(passengerId), anyInt())).thenReturn(null);
+
+        // When
+        SeatHoldResponse response = seatService.holdSeat(seat1.getId(), passengerId, checkInId);
+
+        // Then
+        assertEquals(SeatStatus.HELD, response.getStatus());
+        verify(checkInRepository).save(any());
+    }
+
+    @Test
+    void holdSeat_ShouldThrowException_WhenSeatAlreadyConfirmed() {
+        // Given
+        UUID passengerId = UUID.randomUUID();
+        UUID checkInId = UUID.randomUUID();
+        seat1.setStatus(SeatStatus.CONFIRMED);
+        when(checkInRepository.findById(checkInId)).thenReturn(Optional.of(CheckIn.builder().id(checkInId).build()));
+        when(seatRepository.holdIfAvailable(eq(seat1.getId()), eq(passengerId), any(), any())).thenReturn(Optional.empty());
+        when(seatRepository.findById(seat1.getId())).thenReturn(Optional.of(seat1));
+
+        // When & Then
+        assertThrows(SeatAlreadyConfirmedException.class, () -> seatService.holdSeat(seat1.getId(), passengerId, checkInId));
+        verifyNoInteractions(seatLockService);
+    }
+
+    @Test
+    void confirmSeat_ShouldConfirmWithSingleUpdate_WhenHeldByPassenger() {
+        // Given
+        UUID passengerId = UUID.randomUUID();
+        seat1.setStatus(SeatStatus.CONFIRMED);
+        when(seatRepository.confirmIfHeldBy(eq(seat1.getId()), eq(passengerId), isNull(), any()))
+                .thenReturn(Optional.of(transition(seat1, SeatStatus.HELD)));
+        when(seatRepository.getReferenceById(seat1.getId())).thenReturn(seat1);
+
+        // When
+        Seat confirmed = seatService.confirmSeat(seat1.getId(), passengerId, null);
+
+        // Then
+        assertSame(seat1, confirmed);
+        verify(entityManager).refresh(seat1);
+        verify(seatLockService).releaseLock(flightId, "1A", passengerId);
+        verify(seatHoldExpiryWheel).cancel(seat1.getId());
+        verify(eventPublisher).publishEvent(
+                new SeatStatusChangedEvent(flightId, seat1.getId(), "1A", SeatStatus.HELD, SeatStatus.CONFIRMED));
+        verify(seatRepository, never()).findById(any());
+    }
+
+    @Test
+    void holdSeat_ShouldRecordLockFencingToken_AndRejectStaleToken() {
+        // Given
+        UUID passengerId = UUID.randomUUID();
+        UUID checkInId = UUID.randomUUID();
+        when(checkInConfig.getSeatHoldDurationSeconds()).thenReturn(120);
+        when(checkInRepository.findById(checkInId)).thenReturn(Optional.of(CheckIn.builder().id(checkInId).build()));
+        when(seatRepository.holdIfAvailable(eq(seat1.getId()), eq(passengerId), any(), any()))
+                .thenReturn(Optional.of(transition(seat1, SeatStatus.AVAILABLE)));
+        when(seatRepository.getReferenceById(seat1.getId())).thenReturn(seat1);
+        when(seatLockService.acquireOrExtendLock(flightId, "1A", passengerId, 120))
+                .thenReturn(new SeatLock(passengerId, 120000, 42L))
+                .thenReturn(new SeatLock(passengerId, 120000, 41L));
+        when(seatRepository.recordFencingToken(seat1.getId(), passengerId, 42L)).thenReturn(1);
+        when(seatRepository.recordFencingToken(seat1.getId(), passengerId, 41L)).thenReturn(0);
+
+        // When
+        SeatHoldResponse response = seatService.holdSeat(seat1.getId(), passengerId, checkInId);
+
+        // Then
+        assertEquals(42L, response.getFencingToken());
+        assertThrows(SeatAlreadyHeldException.class, () -> seatService.holdSeat(seat1.getId(), passengerId, checkInId));
+        verify(seatLockService).releaseLock(flightId, "1A", passengerId);
+    }
+
+    @Test
+    void confirmSeat_ShouldRejectStaleFencingToken() {
+        // Given
+        UUID passengerId = UUID.randomUUID();
+        seat1.setStatus(SeatStatus.HELD);
+        seat1.setHeldByPassenger(Passenger.builder().id(passengerId).build());
+        seat1.setHeldUntil(LocalDateTime.now().plusSeconds(60));
+        seat1.setFencingToken(8L);
+        when(seatRepository.confirmIfHeldBy(eq(seat1.getId()), eq(passengerId), eq(7L), any())).thenReturn(Optional.empty());
+        when(seatRepository.findById(seat1.getId())).thenReturn(Optional.of(seat1));
+
+        // When & Then
+        assertThrows(SeatHoldSupersededException.class, () -> seatService.confirmSeat(seat1.getId(), passengerId, 7L));
+        verifyNoInteractions(seatLockService, eventPublisher);
+    }
+
+    @Test
+    void confirmSeat_ShouldRejectExpiredHold_WithoutReleasingItInTheRolledBackTransaction() {
+        // Given
+        UUID passengerId = UUID.randomUUID();
+        seat1.setStatus(SeatStatus.HELD);
+        seat1.setHeldByPassenger(Passenger.builder().id(passengerId).build());
+        seat1.setHeldUntil(LocalDateTime.now().minusSeconds(5));
+        when(seatRepository.confirmIfHeldBy(eq(seat1.getId()), eq(passengerId), isNull(), any())).thenReturn(Optional.empty());
+        when(seatRepository.findById(seat1.getId())).thenReturn(Optional.of(seat1));
+
+        // When & Then
+        assertThrows(SeatHoldExpiredException.class, () -> seatService.confirmSeat(seat1.getId(), passengerId, null));
+        verify(seatRepository, never()).save(any());
+        verifyNoInteractions(seatLockService, seatHoldExpiryWheel, eventPublisher);
+    }
+
+    @Test
+    void releaseSeatHold_ShouldReleaseWithSingleUpdate_AndHandSeatOver() {
+        // Given
+        UUID passengerId = UUID.randomUUID();
+        when(seatRepository.releaseIfHeldBy(eq(seat1.getId()), eq(passengerId), eq(3L), any()))
+                .thenReturn(Optional.of(transition(seat1, SeatStatus.HELD)));
+
+        // When
+        seatService.releaseSeatHold(seat1.getId(), passengerId, 3L);
+
+        // Then
+        verify(seatRepository, never()).findById(any());
+        verify(seatLockService).releaseLock(flightId, "1A", passengerId);
+        verify(seatHoldExpiryWheel).cancel(seat1.getId());
+        verify(seatWaitlistService).handOver(seat1.getId());
+    }
+
+    @Test
+    void holdSeatGroup_ShouldHoldEverySeat_WithSharedExpiry() {
+        // Given
+        CheckIn lead = groupCheckIn();
+        CheckIn child = groupCheckIn();
+        UUID leadPassengerId = lead.getBooking().getPassenger().getId();
+        Map<UUID, UUID> seats = Map.of(lead.getId(), seat1.getId(), child.getId(), seat2.getId());
+        when(checkInConfig.getSeatHoldDurationSeconds()).thenReturn(120);
+        when(checkInRepository.findAllByIdWithDetails(seats.keySet())).thenReturn(List.of(lead, child));
+        when(seatRepository.holdIfAvailable(eq(seat1.getId()), any(), any(), any()))
+                .thenReturn(Optional.of(transition(seat1, SeatStatus.AVAILABLE)));
+        when(seatRepository.holdIfAvailable(eq(seat2.getId()), any(), any(), any()))
+                .thenReturn(Optional.of(transition(seat2, SeatStatus.AVAILABLE)));
+        when(seatRepository.recordFencingToken(any(), any(), eq(1L))).thenReturn(1);
+        when(seatLockService.acquireOrExtendLocks(anyList(), eq(120)))
+                .thenAnswer(invocation -> invocation.<List<LockClaim>>getArgument(0).stream()
+                        .map(claim -> new SeatLock(claim.owner(), 120000, 1L))
+                        .toList());
+        when(seatRepository.getReferenceById(seat1.getId())).thenReturn(seat1);
+        when(seatRepository.getReferenceById(seat2.getId())).thenReturn(seat2);
+
+        // When
+        SeatGroupHoldResponse response = seatService.holdSeatGroup(seats, leadPassengerId);
+
+        // Then
+        assertEquals(2, response.getSeats().size());
+        assertTrue(response.getSeats().stream().allMatch(seat -> seat.getHeldUntil().equals(response.getHeldUntil())));
+        assertSame(seat1, lead.getSeat());
+        assertSame(seat2, child.getSeat());
+        assertTrue(response.getSeats().stream().allMatch(seat -> seat.getFencingToken() == 1L));
+        verify(seatRepository).holdIfAvailable(eq(seat2.getId()), eq(child.getBooking().getPassenger().getId()), any(), any());
+        verify(seatHoldExpiryWheel, times(2)).schedule(any(), eq(response.getHeldUntil()));
+    }
+
+    @Test
+    void holdSeatGroup_ShouldReleaseLocksItAcquired_WhenAFencingTokenIsStale() {
+        // Given - seat 1 extends the lead's lock and hold, seat 2 gets a new lock whose token is stale
+        CheckIn lead = groupCheckIn();
+        CheckIn child = groupCheckIn();
+        UUID childPassengerId = child.getBooking().getPassenger().getId();
+        seat1.setFencingToken(3L);
+        Map<UUID, UUID> seats = Map.of(lead.getId(), seat1.getId(), child.getId(), seat2.getId());
+        when(checkInConfig.getSeatHoldDurationSeconds()).thenReturn(120);
+        when(checkInRepository.findAllByIdWithDetails(seats.keySet())).thenReturn(List.of(lead, child));
+        when(seatRepository.holdIfAvailable(eq(seat1.getId()), any(), any(), any()))
+                .thenReturn(Optional.of(transition(seat1, SeatStatus.HELD)));
+        when(seatRepository.holdIfAvailable(eq(seat2.getId()), any(), any(), any()))
+                .thenReturn(Optional.of(transition(seat2, SeatStatus.AVAILABLE)));
+        when(seatLockService.acquireOrExtendLocks(anyList(), eq(120)))
+                .thenAnswer(invocation -> invocation.<List<LockClaim>>getArgument(0).stream()
+                        .map(claim -> new SeatLock(claim.owner(), 120000, claim.seatNumber().equals("1A") ? 3L : 2L))
+                        .toList());
+        when(seatRepository.recordFencingToken(seat2.getId(), childPassengerId, 2L)).thenReturn(0);
+        when(seatRepository.findByFlightIdOrderBySeatClassAndNumber(flightId)).thenReturn(List.of(seat1, seat2));
+
+        // When
+        assertThrows(SeatGroupUnavailableException.class,
+                () -> seatService.holdSeatGroup(seats, lead.getBooking().getPassenger().getId()));
+
+        // Then
+        verify(seatLockService).releaseLocks(List.of(new LockRelease(flightId, "1B", childPassengerId)));
+        verifyNoInteractions(seatHoldExpiryWheel);
+    }
+
+    @Test
+    void holdSeatGroup_ShouldHoldNothing_AndSuggestAlternatives_WhenAnySeatIsTaken() {
+        // Given
+        CheckIn lead = groupCheckIn();
+        CheckIn child = groupCheckIn();
+        Seat seat3 = Seat.builder()
+                .id(UUID.randomUUID())
+                .flight(flight)
+                .seatNumber("2A")
+                .seatClass(SeatClass.FIRST)
+                .status(SeatStatus.AVAILABLE)
+                .build();
+        Map<UUID, UUID> seats = Map.of(lead.getId(), seat1.getId(), child.getId(), seat2.getId());
+        when(checkInConfig.getSeatHoldDurationSeconds()).thenReturn(120);
+        when(checkInRepository.findAllByIdWithDetails(seats.keySet())).thenReturn(List.of(lead, child));
+        when(seatRepository.holdIfAvailable(eq(seat1.getId()), any(), any(), any()))
+                .thenReturn(Optional.of(transition(seat1, SeatStatus.AVAILABLE)));
+        when(seatRepository.holdIfAvailable(eq(seat2.getId()), any(), any(), any())).thenReturn(Optional.empty());
+        when(seatRepository.findByFlightIdOrderBySeatClassAndNumber(flightId)).thenReturn(List.of(seat1, seat2, seat3));
+
+        // When
+        SeatGroupUnavailableException exception = assertThrows(SeatGroupUnavailableException.class,
+                () -> seatService.holdSeatGroup(seats, lead.getBooking().getPassenger().getId()));
+
+        // Then
+        assertEquals(List.of("1B"), exception.getUnavailableSeatNumbers());
+        assertEquals(List.of("2A"), exception.getAlternativeSeatNumbers());
+        verifyNoInteractions(seatLockService, seatHoldExpiryWheel);
+        // The rolled back holds must not reach the seat state index or the seat map cache
+        verifyNoInteractions(seatVersionService);
+        assertNull(cacheManager.getCache(SeatService.SEAT_MAP_CACHE).get(SeatService.seatMapKey(flightId, 0L)));
+        verify(checkInRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void holdSeatGroup_ShouldReject_CheckInsOutsideTheCallersBookingGroup() {
+        // Given
+        CheckIn lead = groupCheckIn();
+        CheckIn stranger = groupCheckIn("XYZ999", CheckInStatus.IN_PROGRESS);
+        Map<UUID, UUID> seats = Map.of(lead.getId(), seat1.getId(), stranger.getId(), seat2.getId());
+        when(checkInRepository.findAllByIdWithDetails(seats.keySet())).thenReturn(List.of(lead, stranger));
+
+        // When/Then
+        assertThrows(FlightAccessDeniedException.class,
+                () -> seatService.holdSeatGroup(seats, lead.getBooking().getPassenger().getId()));
+        verifyNoInteractions(seatLockService, seatHoldExpiryWheel);
+        verify(seatRepository, never()).holdIfAvailable(any(), any(), any(), any());
+    }
+
+    @Test
+    void holdSeatGroup_ShouldReject_CheckInsThatAreNoLongerInProgress() {
+        // Given
+        CheckIn lead = groupCheckIn();
+        CheckIn completed = groupCheckIn("ABC123", CheckInStatus.COMPLETED);
+        Map<UUID, UUID> seats = Map.of(lead.getId(), seat1.getId(), completed.getId(), seat2.getId());
+        when(checkInRepository.findAllByIdWithDetails(seats.keySet())).thenReturn(List.of(lead, completed));
+
+        // When/Then
+        assertThrows(InvalidSeatStateException.class,
+                () -> seatService.holdSeatGroup(seats, lead.getBooking().getPassenger().getId()));
+        verify(seatRepository, never()).holdIfAvailable(any(), any(), any(), any());
+    }
+
+    @Test
+    void holdBestSeat_ShouldClaimRankedCandidates_InOneStatement() {
+        // Given
+        UUID passengerId = UUID.randomUUID();
+        when(seatVersionService.currentVersion(flightId)).thenReturn(1L);
+        when(seatRepository.findByFlightIdOrderBySeatClassAndNumber(flightId)).thenReturn(List.of(seat1, seat2));
+        when(checkInConfig.getAutoSeatCandidates()).thenReturn(50);
+        when(checkInConfig.getSeatHoldDurationSeconds()).thenReturn(120);
+        when(seatRepository.holdFirstAvailable(eq(seat1.getId().toString()), eq(passengerId), any(), any()))
+                .thenReturn(Optional.of(transition(seat1, SeatStatus.AVAILABLE)));
+        when(seatLockService.acquireOrExtendLock(flightId, "1A", passengerId, 120))
+                .thenReturn(new SeatLock(passengerId, 120000, 42L));
+        when(seatRepository.recordFencingToken(seat1.getId(), passengerId, 42L)).thenReturn(1);
+
+        // When
+        SeatHoldResponse response = seatService.holdBestSeat(flightId, passengerId,
+                new SeatPreferences(SeatClass.FIRST, SeatPosition.WINDOW, true, true));
+
+        // Then
+        assertEquals(seat1.getId(), response.getSeatId());
+        assertEquals(SeatStatus.HELD, response.getStatus());
+        assertEquals(42L, response.getFencingToken());
+        verify(seatRepository, times(1)).holdFirstAvailable(any(), any(), any(), any());
+        verify(seatHoldExpiryWheel).schedule(seat1.getId(), response.getHeldUntil());
+    }
+
+    @Test
+    void holdBestSeat_ShouldRejectHold_WhenAnotherPassengerHoldsTheSeatLock() {
+        // Given
+        UUID passengerId = UUID.randomUUID();
+        when(seatVersionService.currentVersion(flightId)).thenReturn(1L);
+        when(seatRepository.findByFlightIdOrderBySeatClassAndNumber(flightId)).thenReturn(List.of(seat1, seat2));
+        when(checkInConfig.getAutoSeatCandidates()).thenReturn(50);
+        when(checkInConfig.getSeatHoldDurationSeconds()).thenReturn(120);
+        when(seatRepository.holdFirstAvailable(eq(seat1.getId().toString()), eq(passengerId), any(), any()))
+                .thenReturn(Optional.of(transition(seat1, SeatStatus.AVAILABLE)));
+        when(seatLockService.acquireOrExtendLock(flightId, "1A", passengerId, 120))
+                .thenReturn(new SeatLock(UUID.randomUUID(), 60000, 7L));
+
+        // When & Then
+        assertThrows(SeatAlreadyHeldException.class, () -> seatService.holdBestSeat(flightId, passengerId,
+                new SeatPreferences(SeatClass.FIRST, SeatPosition.WINDOW, true, true)));
+        verify(seatLockService, never()).releaseLock(any(), any(), any());
+        verifyNoInteractions(seatHoldExpiryWheel, eventPublisher);
+    }
+
+    @Test
+    void holdBestSeat_ShouldThrowException_WhenClassIsFull() {
+        // Given
+        when(seatVersionService.currentVersion(flightId)).thenReturn(1L);
+        when(seatRepository.findByFlightIdOrderBySeatClassAndNumber(flightId)).thenReturn(List.of(seat1, seat2));
+        when(checkInConfig.getAutoSeatCandidates()).thenReturn(50);
+
+        // When/Then
+        assertThrows(InvalidSeatStateException.class, () -> seatService.holdBestSeat(flightId, UUID.randomUUID(),
+                new SeatPreferences(SeatClass.ECONOMY, null, true, true)));
+        verify(seatRepository, never()).holdFirstAvailable(any(), any(), any(), any());
+    }
+
+    private CheckIn groupCheckIn() {
+        return groupCheckIn("ABC123", CheckInStatus.IN_PROGRESS);
+    }
+
+    private CheckIn groupCheckIn(String groupReference, CheckInStatus status) {
+        Passenger passenger = Passenger.builder().id(UUID.randomUUID()).build();
+        Booking booking = Booking.builder().id(UUID.randomUUID()).groupReference(groupReference)
+                .passenger(passenger).flight(flight).build();
+        return CheckIn.builder().id(UUID.randomUUID()).booking(booking).status(status)
+                .expiresAt(LocalDateTime.now().plusMinutes(10)).build();
+    }
+
+    private SeatRepository.SeatTransition transition(Seat seat, SeatStatus previousStatus) {
+        return new SeatRepository.SeatTransition() {
+            @Override
+            public UUID getId() {
+                return seat.getId();
+            }
+
+            @Override
+            public UUID getFlightId() {
+                return seat.getFlight().getId();
+            }
+
+            @Override
+            public String getSeatNumber() {
+                return seat.getSeatNumber();
+            }
+
+            @Override
+            public SeatClass getSeatClass() {
+                return seat.getSeatClass();
+            }
+
+            @Override
+            public SeatStatus getPreviousStatus() {
+                return previousStatus;
+            }
+
+            @Override
+            public Long getFencingToken() {
+                return seat.getFencingToken();
+            }
+        };
+    }
+}
@@ -0,0 +1,106 @@
+package com.skyhigh.checkin.service;
+
+import com.skyhigh.checkin.cache.CacheInvalidationPublisher;
+import com.skyhigh.checkin.cache.RedisGuard;
+import com.skyhigh.checkin.cache.TwoLevelCacheManager;
+import com.skyhigh.checkin.config.CacheConfig;
+import com.skyhigh.checkin.event.SeatChange;
+import com.skyhigh.checkin.model.enums.SeatStatus;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatVersionServiceTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    @Mock
+    private SeatStateIndex seatStateIndex;
+
+    @Mock
+    private CacheInvalidationPublisher invalidationPublisher;
+
+    @Mock
+    private TwoLevelCacheManager cacheManager;
+
+    @Mock
+    private SeatStatusStreamService seatStatusStreamService;
+
+    private SeatVersionService seatVersionService;
+
+    private final UUID flightId = UUID.randomUUID();
+    private final String versionKey = "seat:version:" + flightId;
+
+    @BeforeEach
+    void setUp() {
+        CacheConfig cacheConfig = new CacheConfig();
+        // Every read goes to Redis
+        cacheConfig.setSeatVersionRefreshMillis(0);
+        RedisGuard redisGuard = new RedisGuard(CircuitBreakerRegistry.ofDefaults(), new SimpleMeterRegistry());
+        seatVersionService = new SeatVersionService(redisTemplate, seatStateIndex, invalidationPublisher, cacheManager,
+                seatStatusStreamService, cacheConfig, redisGuard);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void currentVersion_ShouldResetSeatState_WhenRedisLostTheVersion() {
+        // Given
+        when(valueOperations.get(versionKey)).thenReturn(7L).thenReturn(null);
+        seatVersionService.currentVersion(flightId);
+
+        // When
+        long version = seatVersionService.currentVersion(flightId);
+
+        // Then
+        assertEquals(0L, version);
+        verify(seatStateIndex).evict(flightId);
+        verify(cacheManager).evictLocalIf(eq(SeatService.SEAT_MAP_CACHE), any());
+    }
+
+    @Test
+    void incrementVersion_ShouldResetSeatState_WhenRedisCountsFromScratch() {
+        // Given
+        when(valueOperations.get(versionKey)).thenReturn(7L).thenReturn(1L);
+        when(valueOperations.increment(versionKey)).thenReturn(1L);
+        seatVersionService.currentVersion(flightId);
+
+        // When
+        long version = seatVersionService.incrementVersion(flightId);
+
+        // Then
+        assertEquals(1L, version);
+        assertEquals(1L, seatVersionService.currentVersion(flightId));
+        verify(seatStateIndex).evict(flightId);
+    }
+
+    @Test
+    void onRemoteSeatChange_ShouldKeepKnownVersion_WhenAnOlderChangeArrivesLate() {
+        // Given
+        when(valueOperations.get(versionKey)).thenReturn(7L);
+        seatVersionService.currentVersion(flightId);
+
+        // When
+        seatVersionService.onRemoteSeatChange(new SeatChange(flightId, 6L, UUID.randomUUID(), "1A", SeatStatus.HELD));
+
+        // Then
+        verify(seatStateIndex, never()).evict(any());
+        verifyNoInteractions(cacheManager);
+    }
+}
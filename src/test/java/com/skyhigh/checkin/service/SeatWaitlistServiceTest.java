@@ -0,0 +1,312 @@
+package com.skyhigh.checkin.service;
+
+import com.skyhigh.checkin.config.CheckInConfig;
+import com.skyhigh.checkin.event.SeatStatusChangedEvent;
+import com.skyhigh.checkin.exception.InvalidSeatStateException;
+import com.skyhigh.checkin.lock.LockRelease;
+import com.skyhigh.checkin.lock.SeatLock;
+import com.skyhigh.checkin.model.entity.Booking;
+import com.skyhigh.checkin.model.entity.CheckIn;
+import com.skyhigh.checkin.model.entity.Flight;
+import com.skyhigh.checkin.model.entity.Passenger;
+import com.skyhigh.checkin.model.entity.Seat;
+import com.skyhigh.checkin.model.entity.SeatWaitlistEntry;
+import com.skyhigh.checkin.model.enums.CheckInStatus;
+import com.skyhigh.checkin.model.enums.SeatClass;
+import com.skyhigh.checkin.model.enums.SeatStatus;
+import com.skyhigh.checkin.model.enums.WaitlistStatus;
+import com.skyhigh.checkin.repository.CheckInRepository;
+import com.skyhigh.checkin.repository.SeatAuditLogRepository;
+import com.skyhigh.checkin.repository.SeatRepository;
+import com.skyhigh.checkin.repository.SeatWaitlistRepository;
+import com.skyhigh.checkin.scheduler.SeatHoldExpiryWheel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatWaitlistServiceTest {
+
+    @Mock
+    private SeatWaitlistRepository waitlistRepository;
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private CheckInRepository checkInRepository;
+
+    @Mock
+    private SeatAuditLogRepository auditLogRepository;
+
+    @Mock
+    private SeatLockService seatLockService;
+
+    @Mock
+    private CheckInConfig checkInConfig;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ObjectProvider<SeatHoldExpiryWheel> seatHoldExpiryWheelProvider;
+
+    @Mock
+    private SeatHoldExpiryWheel seatHoldExpiryWheel;
+
+    @InjectMocks
+    private SeatWaitlistService seatWaitlistService;
+
+    private Flight flight;
+    private Seat seat;
+
+    @BeforeEach
+    void setUp() {
+        flight = Flight.builder().id(UUID.randomUUID()).flightNumber("SH101").build();
+        seat = Seat.builder()
+                .id(UUID.randomUUID())
+                .flight(flight)
+                .seatNumber("1A")
+                .seatClass(SeatClass.FIRST)
+                .status(SeatStatus.AVAILABLE)
+                .build();
+    }
+
+    @Test
+    void handOver_ShouldHoldSeatForFirstActiveWaiter_AndExpireEndedCheckIns() {
+        // Given
+        CheckIn cancelled = checkIn(CheckInStatus.CANCELLED);
+        CheckIn waiting = checkIn(CheckInStatus.IN_PROGRESS);
+        SeatWaitlistEntry first = entry(cancelled);
+        SeatWaitlistEntry second = entry(waiting);
+        UUID passengerId = second.getPassengerId();
+
+        when(waitlistRepository.findWaitingForUpdate(eq(seat.getId()), any()))
+                .thenReturn(List.of(first))
+                .thenReturn(List.of(second));
+        when(checkInRepository.findById(cancelled.getId())).thenReturn(Optional.of(cancelled));
+        when(checkInRepository.findById(waiting.getId())).thenReturn(Optional.of(waiting));
+        when(checkInConfig.getSeatHoldDurationSeconds()).thenReturn(120);
+        when(seatRepository.holdIfAvailable(eq(seat.getId()), eq(passengerId), any(), any()))
+                .thenReturn(Optional.of(transition()));
+        when(seatRepository.getReferenceById(seat.getId())).thenReturn(seat);
+        when(seatLockService.acquireOrExtendLock(flight.getId(), "1A", passengerId, 120))
+                .thenReturn(new SeatLock(passengerId, 120000, 5L));
+        when(seatHoldExpiryWheelProvider.getObject()).thenReturn(seatHoldExpiryWheel);
+
+        // When
+        boolean handedOver = seatWaitlistService.handOver(seat.getId());
+
+        // Then
+        assertTrue(handedOver);
+        assertEquals(WaitlistStatus.EXPIRED, first.getStatus());
+        assertEquals(WaitlistStatus.ASSIGNED, second.getStatus());
+        assertNotNull(second.getHeldUntil());
+        assertSame(seat, waiting.getSeat());
+        verify(seatHoldExpiryWheel).schedule(seat.getId(), second.getHeldUntil());
+        verify(seatRepository).recordFencingToken(seat.getId(), passengerId, 5L);
+        verify(eventPublisher).publishEvent(new SeatStatusChangedEvent(
+                flight.getId(), seat.getId(), "1A", SeatStatus.AVAILABLE, SeatStatus.HELD));
+    }
+
+    @Test
+    void handOver_ShouldReleasePreviouslyHeldSeat_AndCancelOtherWaits() {
+        // Given
+        CheckIn waiting = checkIn(CheckInStatus.IN_PROGRESS);
+        SeatWaitlistEntry entry = entry(waiting);
+        UUID passengerId = entry.getPassengerId();
+        Seat previous = Seat.builder().id(UUID.randomUUID()).flight(flight).seatNumber("2A")
+                .seatClass(SeatClass.FIRST).status(SeatStatus.HELD).build();
+        waiting.setSeat(previous);
+
+        when(waitlistRepository.findWaitingForUpdate(eq(seat.getId()), any())).thenReturn(List.of(entry));
+        when(waitlistRepository.findWaitingForUpdate(eq(previous.getId()), any())).thenReturn(List.of());
+        when(checkInRepository.findById(waiting.getId())).thenReturn(Optional.of(waiting));
+        when(checkInConfig.getSeatHoldDurationSeconds()).thenReturn(120);
+        when(seatRepository.holdIfAvailable(eq(seat.getId()), eq(passengerId), any(), any()))
+                .thenReturn(Optional.of(transition()));
+        when(seatRepository.getReferenceById(seat.getId())).thenReturn(seat);
+        when(seatRepository.releaseIfHeldBy(eq(previous.getId()), eq(passengerId), isNull(), any()))
+                .thenReturn(Optional.of(transition(previous, SeatStatus.HELD)));
+        when(seatLockService.acquireOrExtendLock(flight.getId(), "1A", passengerId, 120))
+                .thenReturn(new SeatLock(passengerId, 120000, 1L));
+        when(seatHoldExpiryWheelProvider.getObject()).thenReturn(seatHoldExpiryWheel);
+
+        // When
+        boolean handedOver = seatWaitlistService.handOver(seat.getId());
+
+        // Then
+        assertTrue(handedOver);
+        assertSame(seat, waiting.getSeat());
+        verify(waitlistRepository).cancelOtherWaiting(eq(waiting.getId()), eq(entry.getId()), any());
+        verify(seatLockService).releaseLock(flight.getId(), "2A", passengerId);
+        verify(seatHoldExpiryWheel).cancel(previous.getId());
+        verify(eventPublisher).publishEvent(new SeatStatusChangedEvent(
+                flight.getId(), previous.getId(), "2A", SeatStatus.HELD, SeatStatus.AVAILABLE));
+    }
+
+    @Test
+    void handOver_ShouldReleaseExpiredHoldersLocks_BeforeHandingSeatsOver() {
+        // Given
+        CheckIn waiting = checkIn(CheckInStatus.IN_PROGRESS);
+        SeatWaitlistEntry entry = entry(waiting);
+        UUID passengerId = entry.getPassengerId();
+        UUID expiredHolderId = UUID.randomUUID();
+        SeatRepository.ReleasedHold waitlisted = releasedHold(seat.getId(), "1A", expiredHolderId);
+        SeatRepository.ReleasedHold other = releasedHold(UUID.randomUUID(), "1B", expiredHolderId);
+
+        when(waitlistRepository.findSeatIdsWithWaiting(List.of(seat.getId(), other.getId())))
+                .thenReturn(List.of(seat.getId()));
+        when(waitlistRepository.findWaitingForUpdate(eq(seat.getId()), any())).thenReturn(List.of(entry));
+        when(checkInRepository.findById(waiting.getId())).thenReturn(Optional.of(waiting));
+        when(checkInConfig.getSeatHoldDurationSeconds()).thenReturn(120);
+        when(seatRepository.holdIfAvailable(eq(seat.getId()), eq(passengerId), any(), any()))
+                .thenReturn(Optional.of(transition()));
+        when(seatRepository.getReferenceById(seat.getId())).thenReturn(seat);
+        when(seatLockService.acquireOrExtendLock(flight.getId(), "1A", passengerId, 120))
+                .thenReturn(new SeatLock(passengerId, 120000, 7L));
+        when(seatHoldExpiryWheelProvider.getObject()).thenReturn(seatHoldExpiryWheel);
+
+        // When
+        int handedOver = seatWaitlistService.handOver(List.of(waitlisted, other));
+
+        // Then
+        assertEquals(1, handedOver);
+        InOrder inOrder = inOrder(seatLockService);
+        inOrder.verify(seatLockService).releaseLocks(List.of(new LockRelease(flight.getId(), "1A", expiredHolderId)));
+        inOrder.verify(seatLockService).acquireOrExtendLock(flight.getId(), "1A", passengerId, 120);
+        verify(seatRepository).recordFencingToken(seat.getId(), passengerId, 7L);
+    }
+
+    @Test
+    void handOver_ShouldKeepQueue_WhenSeatIsNotAvailable() {
+        // Given
+        CheckIn waiting = checkIn(CheckInStatus.IN_PROGRESS);
+        SeatWaitlistEntry entry = entry(waiting);
+        when(waitlistRepository.findWaitingForUpdate(eq(seat.getId()), any())).thenReturn(List.of(entry));
+        when(checkInRepository.findById(waiting.getId())).thenReturn(Optional.of(waiting));
+        when(checkInConfig.getSeatHoldDurationSeconds()).thenReturn(120);
+        when(seatRepository.holdIfAvailable(any(), any(), any(), any())).thenReturn(Optional.empty());
+
+        // When
+        boolean handedOver = seatWaitlistService.handOver(seat.getId());
+
+        // Then
+        assertFalse(handedOver);
+        assertEquals(WaitlistStatus.WAITING, entry.getStatus());
+        verifyNoInteractions(seatLockService, eventPublisher);
+    }
+
+    @Test
+    void join_ShouldReject_WhenSeatIsAvailable() {
+        // Given
+        CheckIn checkIn = checkIn(CheckInStatus.IN_PROGRESS);
+        UUID passengerId = checkIn.getBooking().getPassenger().getId();
+        when(checkInRepository.findByIdWithDetails(checkIn.getId())).thenReturn(Optional.of(checkIn));
+        when(seatRepository.findByIdForUpdate(seat.getId())).thenReturn(Optional.of(seat));
+
+        // When/Then
+        assertThrows(InvalidSeatStateException.class,
+                () -> seatWaitlistService.join(seat.getId(), checkIn.getId(), passengerId));
+        verify(waitlistRepository, never()).save(any());
+    }
+
+    private CheckIn checkIn(CheckInStatus status) {
+        Passenger passenger = Passenger.builder().id(UUID.randomUUID()).build();
+        Booking booking = Booking.builder().id(UUID.randomUUID()).passenger(passenger).flight(flight).build();
+        return CheckIn.builder()
+                .id(UUID.randomUUID())
+                .booking(booking)
+                .status(status)
+                .expiresAt(LocalDateTime.now().plusMinutes(10))
+                .build();
+    }
+
+    private SeatWaitlistEntry entry(CheckIn checkIn) {
+        return SeatWaitlistEntry.builder()
+                .id(UUID.randomUUID())
+                .seatId(seat.getId())
+                .flightId(flight.getId())
+                .seatNumber(seat.getSeatNumber())
+                .checkInId(checkIn.getId())
+                .passengerId(checkIn.getBooking().getPassenger().getId())
+                .build();
+    }
+
+    private SeatRepository.ReleasedHold releasedHold(UUID seatId, String seatNumber, UUID heldBy) {
+        return new SeatRepository.ReleasedHold() {
+            @Override
+            public UUID getId() {
+                return seatId;
+            }
+
+            @Override
+            public UUID getFlightId() {
+                return flight.getId();
+            }
+
+            @Override
+            public String getSeatNumber() {
+                return seatNumber;
+            }
+
+            @Override
+            public UUID getHeldByPassengerId() {
+                return heldBy;
+            }
+        };
+    }
+
+    private SeatRepository.SeatTransition transition() {
+        return transition(seat, SeatStatus.AVAILABLE);
+    }
+
+    private SeatRepository.SeatTransition transition(Seat seat, SeatStatus previousStatus) {
+        return new SeatRepository.SeatTransition() {
+            @Override
+            public UUID getId() {
+                return seat.getId();
+            }
+
+            @Override
+            public UUID getFlightId() {
+                return flight.getId();
+            }
+
+            @Override
+            public String getSeatNumber() {
+                return seat.getSeatNumber();
+            }
+
+            @Override
+            public SeatClass getSeatClass() {
+                return seat.getSeatClass();
+            }
+
+            @Override
+            public SeatStatus getPreviousStatus() {
+                return previousStatus;
+            }
+
+            @Override
+            public Long getFencingToken() {
+                return 1L;
+            }
+        };
+    }
+}